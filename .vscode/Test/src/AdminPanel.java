@@ -1,9 +1,14 @@
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 import java.sql.*;
+import javax.swing.filechooser.FileNameExtensionFilter;
+import java.io.File;
 import java.nio.file.Files;
-import java.nio.file.StandardCopyOption;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.concurrent.CompletableFuture;
 
 class AdminPanel extends JPanel {
     private static final Color BACKGROUND_COLOR = new Color(245, 247, 250);
@@ -16,6 +21,7 @@ class AdminPanel extends JPanel {
     private final AddPetTab addPetTab;
     private final ManagePetsTab managePetsTab;
     private final AdoptionsTab adoptionsTab;
+    private final ApprovalsTab approvalsTab;
 
     public AdminPanel(MainFrame mainFrame) {
         this.mainFrame = mainFrame;
@@ -31,11 +37,13 @@ class AdminPanel extends JPanel {
         addPetTab = new AddPetTab();
         managePetsTab = new ManagePetsTab();
         adoptionsTab = new AdoptionsTab();
+        approvalsTab = new ApprovalsTab();
 
         tabbedPane.addTab("Dashboard", dashboardTab);
         tabbedPane.addTab("Add Pet", addPetTab);
         tabbedPane.addTab("Manage Pets", managePetsTab);
         tabbedPane.addTab("Adoptions", adoptionsTab);
+        tabbedPane.addTab("Approvals", approvalsTab);
 
         add(tabbedPane, BorderLayout.CENTER);
     }
@@ -58,6 +66,57 @@ class AdminPanel extends JPanel {
         dashboardTab.refreshStats();
         managePetsTab.refreshTable();
         adoptionsTab.refreshTable();
+        approvalsTab.refreshTable();
+    }
+
+    private JButton createActionButton(String text, Color background, java.awt.event.ActionListener action) {
+        JButton button = new JButton(text);
+        button.setFont(new Font("Segoe UI", Font.BOLD, 13));
+        button.setBackground(background);
+        button.setForeground(Color.WHITE);
+        button.setFocusPainted(false);
+        button.setBorderPainted(false);
+        button.setOpaque(true);
+        button.setCursor(new Cursor(Cursor.HAND_CURSOR));
+        button.addActionListener(action);
+        return button;
+    }
+
+    private void exportCsv(Component parent, String baseName, String sql, String[] header,
+            java.util.function.Consumer<String> status) {
+        JFileChooser chooser = new JFileChooser();
+        chooser.setDialogTitle("Export to CSV");
+        JCheckBox compressBox = new JCheckBox("Compress (gzip)");
+        chooser.setAccessory(compressBox);
+        chooser.setSelectedFile(new File(baseName + "-" + new SimpleDateFormat("yyyy-MM-dd").format(new Date())
+                + ".csv"));
+        if (chooser.showSaveDialog(parent) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+
+        boolean gzip = compressBox.isSelected();
+        String fileName = chooser.getSelectedFile().getPath();
+        Path target = Paths.get(gzip && !fileName.endsWith(".gz") ? fileName + ".gz" : fileName);
+        if (Files.exists(target) && JOptionPane.showConfirmDialog(parent,
+                target.getFileName() + " already exists. Replace it?", "Confirm Export",
+                JOptionPane.YES_NO_OPTION) != JOptionPane.YES_OPTION) {
+            return;
+        }
+
+        status.accept("(exporting...)");
+        DbExecutor.execute(() -> CsvExporter.export(sql, header, target, gzip,
+                rows -> SwingUtilities.invokeLater(() -> status.accept(String.format("(exporting... %,d rows)", rows)))),
+                rows -> {
+                    status.accept("");
+                    JOptionPane.showMessageDialog(parent,
+                            String.format("Exported %,d rows to %s", rows, target.getFileName()),
+                            "Export Complete", JOptionPane.INFORMATION_MESSAGE);
+                }, e -> {
+                    status.accept("");
+                    e.printStackTrace();
+                    JOptionPane.showMessageDialog(parent, "Export failed: " + e.getMessage(), "Error",
+                            JOptionPane.ERROR_MESSAGE);
+                });
     }
 
     class DashboardTab extends JPanel {
@@ -82,7 +141,6 @@ class AdminPanel extends JPanel {
             statsPanel.add(totalAdoptionsLabel);
 
             add(statsPanel, BorderLayout.CENTER);
-            refreshStats();
         }
 
         private JLabel createStatCard(String title, String value, Color bgColor) {
@@ -113,25 +171,28 @@ class AdminPanel extends JPanel {
         }
 
         public void refreshStats() {
-            try (Connection conn = DatabaseManager.getConnection();
-                    Statement stmt = conn.createStatement()) {
+            for (JLabel wrapper : new JLabel[] { totalPetsLabel, availablePetsLabel, adoptedPetsLabel,
+                    totalAdoptionsLabel }) {
+                setStatValue(wrapper, "...");
+            }
 
-                updateStatCard(totalPetsLabel, stmt, "SELECT COUNT(*) FROM pets");
-                updateStatCard(availablePetsLabel, stmt, "SELECT COUNT(*) FROM pets WHERE status = 'AVAILABLE'");
-                updateStatCard(adoptedPetsLabel, stmt, "SELECT COUNT(*) FROM pets WHERE status = 'ADOPTED'");
-                updateStatCard(totalAdoptionsLabel, stmt, "SELECT COUNT(*) FROM adoptions");
+            DbExecutor.submit("admin.stats", this::loadStats, stats -> {
+                setStatValue(totalPetsLabel, String.valueOf(stats.getTotalPets()));
+                setStatValue(availablePetsLabel, String.valueOf(stats.getAvailablePets()));
+                setStatValue(adoptedPetsLabel, String.valueOf(stats.getAdoptedPets()));
+                setStatValue(totalAdoptionsLabel, String.valueOf(stats.getTotalAdoptions()));
+            }, Exception::printStackTrace);
+        }
 
-            } catch (SQLException e) {
-                e.printStackTrace();
+        private PetStats loadStats() throws SQLException {
+            try (Connection conn = DatabaseManager.getReadConnection()) {
+                return PetStats.load(conn);
             }
         }
 
-        private void updateStatCard(JLabel wrapper, Statement stmt, String query) throws SQLException {
-            ResultSet rs = stmt.executeQuery(query);
-            if (rs.next()) {
-                JLabel valueLabel = (JLabel) ((JPanel) wrapper.getComponent(0)).getComponent(0);
-                valueLabel.setText(String.valueOf(rs.getInt(1)));
-            }
+        private void setStatValue(JLabel wrapper, String value) {
+            JLabel valueLabel = (JLabel) ((JPanel) wrapper.getComponent(0)).getComponent(0);
+            valueLabel.setText(value);
         }
     }
 
@@ -289,38 +350,6 @@ class AdminPanel extends JPanel {
             return panel;
         }
 
-        private String copyImageToLocal(String sourcePath) {
-            if (sourcePath == null || sourcePath.isEmpty()) {
-                return null;
-            }
-
-            try {
-                // Create images directory if it doesn't exist
-                java.io.File imagesDir = new java.io.File("images");
-                if (!imagesDir.exists()) {
-                    imagesDir.mkdir();
-                }
-
-                // Generate unique filename
-                java.io.File sourceFile = new java.io.File(sourcePath);
-                String extension = sourcePath.substring(sourcePath.lastIndexOf("."));
-                String newFileName = System.currentTimeMillis() + extension;
-                java.io.File destFile = new java.io.File("images/" + newFileName);
-
-                // Copy file
-                Files.copy(sourceFile.toPath(), destFile.toPath(),
-                        StandardCopyOption.REPLACE_EXISTING);
-
-                return "images/" + newFileName;
-
-            } catch (Exception e) {
-                e.printStackTrace();
-                JOptionPane.showMessageDialog(this, "Failed to copy image: " + e.getMessage(),
-                        "Error", JOptionPane.ERROR_MESSAGE);
-                return null;
-            }
-        }
-
         private JButton createSubmitButton() {
             JButton button = new JButton("Add Pet to System");
             button.setFont(new Font("Segoe UI", Font.BOLD, 14));
@@ -364,12 +393,39 @@ class AdminPanel extends JPanel {
                 return;
             }
 
-            // Copy image to local images folder
-            String imageUrl = copyImageToLocal(imageSourcePath);
+            // The image is hashed and thumbnailed on a worker first so the write queue only waits on the insert.
+            DbExecutor.execute(
+                    () -> imageSourcePath.isEmpty() ? null : ImageStore.ingest(Paths.get(imageSourcePath)),
+                    image -> {
+                        CompletableFuture<Integer> insert = WriteQueue.submit(
+                                conn -> insertPet(conn, name, species, breed, age, gender, size, color, description,
+                                        image));
+                        DbExecutor.deliver(insert, affected -> {
+                            if (affected > 0) {
+                                JOptionPane.showMessageDialog(this, "Pet added successfully!", "Success",
+                                        JOptionPane.INFORMATION_MESSAGE);
+                                clearForm();
+                                dashboardTab.refreshStats();
+                                managePetsTab.refreshTable();
+                            }
+                        }, this::showAddError);
+                    }, this::showAddError);
+        }
+
+        private void showAddError(Exception e) {
+            e.printStackTrace();
+            JOptionPane.showMessageDialog(this, "Failed to add pet: " + e.getMessage(), "Error",
+                    JOptionPane.ERROR_MESSAGE);
+        }
+
+        private int insertPet(Connection conn, String name, String species, String breed, int age, String gender,
+                String size, String color, String description, ImageAsset image) throws SQLException {
+            if (image != null) {
+                ImageStore.register(conn, image);
+            }
 
-            try (Connection conn = DatabaseManager.getConnection()) {
-                String sql = "INSERT INTO pets (name, species, breed, age, gender, size, color, description, image_url) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
-                PreparedStatement pstmt = conn.prepareStatement(sql);
+            String sql = "INSERT INTO pets (name, species, breed, age, gender, size, color, description, image_url, image_hash) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
                 pstmt.setString(1, name);
                 pstmt.setString(2, species);
                 pstmt.setString(3, breed.isEmpty() ? "Mixed" : breed);
@@ -378,21 +434,10 @@ class AdminPanel extends JPanel {
                 pstmt.setString(6, size);
                 pstmt.setString(7, color.isEmpty() ? "N/A" : color);
                 pstmt.setString(8, description);
-                pstmt.setString(9, imageUrl);
-
-                int affected = pstmt.executeUpdate();
+                pstmt.setString(9, image == null ? null : image.getPath());
+                pstmt.setString(10, image == null ? null : image.getHash());
 
-                if (affected > 0) {
-                    JOptionPane.showMessageDialog(this, "Pet added successfully!", "Success",
-                            JOptionPane.INFORMATION_MESSAGE);
-                    clearForm();
-                    dashboardTab.refreshStats();
-                    managePetsTab.refreshTable();
-                }
-            } catch (SQLException e) {
-                e.printStackTrace();
-                JOptionPane.showMessageDialog(this, "Failed to add pet: " + e.getMessage(), "Error",
-                        JOptionPane.ERROR_MESSAGE);
+                return pstmt.executeUpdate();
             }
         }
 
@@ -407,28 +452,33 @@ class AdminPanel extends JPanel {
     }
 
     class ManagePetsTab extends JPanel {
-        private final DefaultTableModel tableModel;
-        private final JTable table;
+        private static final String TITLE = "Manage All Pets";
+        private static final TableSource PETS = new TableSource("pets", null,
+                "SELECT value FROM pet_stats WHERE name = 'total_pets'",
+                new QueryColumn("ID", "id", FilterMode.EQUALS, false, "id"),
+                new QueryColumn("Name", "name", FilterMode.PREFIX_IGNORE_CASE, false, "name COLLATE NOCASE", "id"),
+                new QueryColumn("Species", "species", FilterMode.PREFIX_IGNORE_CASE, false,
+                        "species COLLATE NOCASE", "id"),
+                new QueryColumn("Breed", "breed", FilterMode.PREFIX_IGNORE_CASE, true, "breed COLLATE NOCASE", "id"),
+                new QueryColumn("Age", "age", FilterMode.EQUALS, false, "age", "id"),
+                new QueryColumn("Gender", "gender", FilterMode.PREFIX_IGNORE_CASE, false),
+                new QueryColumn("Size", "size", FilterMode.PREFIX_IGNORE_CASE, false),
+                new QueryColumn("Status", "status", FilterMode.EQUALS, true, "status", "id"));
+
+        private final JLabel titleLabel;
+        private final PagedTable table;
 
         public ManagePetsTab() {
             setLayout(new BorderLayout());
             setBackground(BACKGROUND_COLOR);
 
-            JLabel titleLabel = new JLabel("Manage All Pets");
+            titleLabel = new JLabel(TITLE);
             titleLabel.setFont(new Font("Segoe UI", Font.BOLD, 28));
             titleLabel.setForeground(TEXT_COLOR);
             titleLabel.setBorder(BorderFactory.createEmptyBorder(20, 30, 20, 30));
             add(titleLabel, BorderLayout.NORTH);
 
-            String[] columns = { "ID", "Name", "Species", "Breed", "Age", "Gender", "Size", "Status" };
-            tableModel = new DefaultTableModel(columns, 0) {
-                @Override
-                public boolean isCellEditable(int row, int column) {
-                    return false;
-                }
-            };
-
-            table = new JTable(tableModel);
+            table = new PagedTable(PETS, "admin.pets", 0, SortOrder.DESCENDING, this::showCount, this::showLoadError);
             table.setFont(new Font("Segoe UI", Font.PLAIN, 13));
             table.setRowHeight(30);
             table.getTableHeader().setFont(new Font("Segoe UI", Font.BOLD, 13));
@@ -441,7 +491,6 @@ class AdminPanel extends JPanel {
             add(scrollPane, BorderLayout.CENTER);
 
             add(createButtonPanel(), BorderLayout.SOUTH);
-            refreshTable();
         }
 
         private JPanel createButtonPanel() {
@@ -449,6 +498,11 @@ class AdminPanel extends JPanel {
             buttonPanel.setBackground(BACKGROUND_COLOR);
             buttonPanel.setBorder(BorderFactory.createEmptyBorder(0, 30, 20, 30));
 
+            buttonPanel.add(createActionButton("Import Pets...", HEADER_COLOR, e -> importPets()));
+            buttonPanel.add(createActionButton("Export CSV...", HEADER_COLOR,
+                    e -> exportCsv(this, "pets", CsvExporter.PETS_SQL, CsvExporter.PETS_HEADER,
+                            text -> titleLabel.setText(TITLE + "  " + text))));
+
             JButton deleteButton = new JButton("Delete Selected");
             deleteButton.setFont(new Font("Segoe UI", Font.BOLD, 13));
             deleteButton.setBackground(PRIMARY_COLOR);
@@ -464,27 +518,93 @@ class AdminPanel extends JPanel {
         }
 
         public void refreshTable() {
-            tableModel.setRowCount(0);
-
-            try (Connection conn = DatabaseManager.getConnection();
-                    Statement stmt = conn.createStatement();
-                    ResultSet rs = stmt.executeQuery("SELECT * FROM pets ORDER BY id DESC")) {
-
-                while (rs.next()) {
-                    tableModel.addRow(new Object[] {
-                            rs.getInt("id"),
-                            rs.getString("name"),
-                            rs.getString("species"),
-                            rs.getString("breed"),
-                            rs.getInt("age"),
-                            rs.getString("gender"),
-                            rs.getString("size"),
-                            rs.getString("status")
-                    });
+            titleLabel.setText(TITLE + "  (loading...)");
+            table.refresh();
+        }
+
+        private void showCount() {
+            titleLabel.setText(String.format("%s  (%,d)", TITLE, table.getRowCount()));
+        }
+
+        private void showLoadError(Exception e) {
+            e.printStackTrace();
+            titleLabel.setText(TITLE);
+        }
+
+        private void importPets() {
+            JFileChooser chooser = new JFileChooser();
+            chooser.setDialogTitle("Import Pets");
+            chooser.setFileFilter(new FileNameExtensionFilter("CSV or JSON files", "csv", "json", "jsonl"));
+            if (chooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) {
+                return;
+            }
+
+            Path file = chooser.getSelectedFile().toPath();
+            PetImporter importer = new PetImporter(file);
+
+            JDialog dialog = new JDialog(SwingUtilities.getWindowAncestor(this), "Importing " + file.getFileName(),
+                    Dialog.ModalityType.MODELESS);
+            JPanel content = new JPanel(new BorderLayout(0, 10));
+            content.setBackground(Color.WHITE);
+            content.setBorder(BorderFactory.createEmptyBorder(20, 20, 20, 20));
+
+            JLabel statusLabel = new JLabel("Reading " + file.getFileName() + "...");
+            statusLabel.setFont(new Font("Segoe UI", Font.PLAIN, 13));
+            content.add(statusLabel, BorderLayout.NORTH);
+
+            JProgressBar progressBar = new JProgressBar(0, 1000);
+            progressBar.setStringPainted(true);
+            progressBar.setPreferredSize(new Dimension(400, 24));
+            content.add(progressBar, BorderLayout.CENTER);
+
+            JButton cancelButton = new JButton("Cancel");
+            cancelButton.setFont(new Font("Segoe UI", Font.BOLD, 12));
+            cancelButton.addActionListener(e -> {
+                importer.cancel();
+                cancelButton.setEnabled(false);
+                statusLabel.setText("Cancelling after the current batch...");
+            });
+            JPanel buttonRow = new JPanel(new FlowLayout(FlowLayout.RIGHT, 0, 0));
+            buttonRow.setOpaque(false);
+            buttonRow.add(cancelButton);
+            content.add(buttonRow, BorderLayout.SOUTH);
+
+            dialog.setContentPane(content);
+            dialog.setDefaultCloseOperation(WindowConstants.DO_NOTHING_ON_CLOSE);
+            dialog.pack();
+            dialog.setLocationRelativeTo(this);
+            dialog.setVisible(true);
+
+            DbExecutor.execute(() -> importer.run(progress -> SwingUtilities.invokeLater(() -> {
+                progressBar.setValue((int) (progress.getFraction() * 1000));
+                if (cancelButton.isEnabled()) {
+                    statusLabel.setText(String.format("%,d imported, %,d rejected  -  %,.0f pets/s",
+                            progress.getImported(), progress.getRejected(), progress.getRecordsPerSecond()));
+                }
+            })), result -> {
+                dialog.dispose();
+                refreshTable();
+                dashboardTab.refreshStats();
+
+                StringBuilder message = new StringBuilder(String.format("Imported %,d pets in %.1f s (%,.0f pets/s).",
+                        result.getImported(), result.getElapsedMillis() / 1000.0, result.getRecordsPerSecond()));
+                if (result.getRejected() > 0) {
+                    message.append(String.format("%n%n%,d records were rejected:", result.getRejected()));
+                    result.getErrors().stream().limit(10).forEach(error -> message.append('\n').append(error));
+                    if (result.getRejected() > 10) {
+                        message.append("\n...");
+                    }
                 }
-            } catch (SQLException e) {
+                JOptionPane.showMessageDialog(this, message.toString(), "Import Complete",
+                        result.getRejected() > 0 ? JOptionPane.WARNING_MESSAGE : JOptionPane.INFORMATION_MESSAGE);
+            }, e -> {
+                dialog.dispose();
+                refreshTable();
+                dashboardTab.refreshStats();
                 e.printStackTrace();
-            }
+                JOptionPane.showMessageDialog(this, "Import failed: " + e.getMessage(), "Error",
+                        JOptionPane.ERROR_MESSAGE);
+            });
         }
 
         private void deletePet() {
@@ -495,103 +615,223 @@ class AdminPanel extends JPanel {
                 return;
             }
 
-            int petId = (int) tableModel.getValueAt(selectedRow, 0);
-            String petName = (String) tableModel.getValueAt(selectedRow, 1);
+            Object[] row = table.getRowValues(selectedRow);
+            if (row == null) {
+                return;
+            }
+
+            int petId = (int) row[0];
+            String petName = (String) row[1];
 
             int confirm = JOptionPane.showConfirmDialog(this,
-                    "Are you sure you want to delete " + petName + "?",
+                    "Are you sure you want to delete " + petName + " and its adoption records?",
                     "Confirm Delete",
                     JOptionPane.YES_NO_OPTION);
 
             if (confirm == JOptionPane.YES_OPTION) {
-                try (Connection conn = DatabaseManager.getConnection()) {
-                    String sql = "DELETE FROM pets WHERE id = ?";
-                    PreparedStatement pstmt = conn.prepareStatement(sql);
-                    pstmt.setInt(1, petId);
-
-                    int affected = pstmt.executeUpdate();
-
+                DbExecutor.deliver(WriteQueue.submit(conn -> deletePetById(conn, petId)), affected -> {
                     if (affected > 0) {
                         JOptionPane.showMessageDialog(this, "Pet deleted successfully!", "Success",
                                 JOptionPane.INFORMATION_MESSAGE);
                         refreshTable();
                         dashboardTab.refreshStats();
                     }
-                } catch (SQLException e) {
+                }, e -> {
                     e.printStackTrace();
                     JOptionPane.showMessageDialog(this, "Failed to delete pet: " + e.getMessage(), "Error",
                             JOptionPane.ERROR_MESSAGE);
-                }
+                });
+            }
+        }
+
+        // The pet's adoptions go with it, in the same write, so the adoptions table never holds
+        // rows that its join with pets would drop and total_adoptions stays equal to what it shows.
+        private int deletePetById(Connection conn, int petId) throws SQLException {
+            try (PreparedStatement pstmt = conn.prepareStatement("DELETE FROM adoptions WHERE pet_id = ?")) {
+                pstmt.setInt(1, petId);
+                pstmt.executeUpdate();
+            }
+
+            String sql = "DELETE FROM pets WHERE id = ?";
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setInt(1, petId);
+
+                return pstmt.executeUpdate();
             }
         }
     }
 
     class AdoptionsTab extends JPanel {
-        private final DefaultTableModel tableModel;
-        private final JTable table;
+        private static final String TITLE = "All Adoptions";
+        private static final TableSource ADOPTIONS = new TableSource(
+                "adoptions a JOIN pets p ON a.pet_id = p.id JOIN users u ON a.user_id = u.id", null,
+                "SELECT value FROM pet_stats WHERE name = 'total_adoptions'",
+                new QueryColumn("ID", "a.id", FilterMode.EQUALS, false, "a.id"),
+                new QueryColumn("Pet Name", "p.name", FilterMode.PREFIX_IGNORE_CASE, false,
+                        "p.name COLLATE NOCASE", "p.id", "a.id"),
+                new QueryColumn("Adopter Name", "u.full_name", FilterMode.PREFIX_IGNORE_CASE, false,
+                        "u.full_name COLLATE NOCASE", "u.id", "a.id"),
+                new QueryColumn("Email", "u.email", FilterMode.PREFIX_IGNORE_CASE, false,
+                        "u.email COLLATE NOCASE", "u.id", "a.id"),
+                new QueryColumn("Date", "a.adoption_date", FilterMode.PREFIX, true, "a.adoption_date", "a.id"),
+                new QueryColumn("Status", "a.status", FilterMode.EQUALS, true, "a.status", "a.id"),
+                new QueryColumn("Notes", "a.notes", FilterMode.NONE, true));
+
+        private final JLabel titleLabel;
+        private final PagedTable table;
 
         public AdoptionsTab() {
             setLayout(new BorderLayout());
             setBackground(BACKGROUND_COLOR);
 
-            JLabel titleLabel = new JLabel("All Adoptions");
+            titleLabel = new JLabel(TITLE);
             titleLabel.setFont(new Font("Segoe UI", Font.BOLD, 28));
             titleLabel.setForeground(TEXT_COLOR);
             titleLabel.setBorder(BorderFactory.createEmptyBorder(20, 30, 20, 30));
             add(titleLabel, BorderLayout.NORTH);
 
-            String[] columns = { "ID", "Pet Name", "Adopter Name", "Email", "Date", "Status", "Notes" };
-            tableModel = new DefaultTableModel(columns, 0) {
-                @Override
-                public boolean isCellEditable(int row, int column) {
-                    return false;
-                }
-            };
+            table = new PagedTable(ADOPTIONS, "admin.adoptions", 4, SortOrder.DESCENDING, this::showCount,
+                    this::showLoadError);
+            table.setFont(new Font("Segoe UI", Font.PLAIN, 13));
+            table.setRowHeight(30);
+            table.getTableHeader().setFont(new Font("Segoe UI", Font.BOLD, 13));
+            table.getTableHeader().setBackground(HEADER_COLOR);
+            table.getTableHeader().setForeground(Color.WHITE);
+
+            JScrollPane scrollPane = new JScrollPane(table);
+            scrollPane.setBorder(BorderFactory.createEmptyBorder(0, 30, 30, 30));
+            add(scrollPane, BorderLayout.CENTER);
 
-            table = new JTable(tableModel);
+            JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+            buttonPanel.setBackground(BACKGROUND_COLOR);
+            buttonPanel.setBorder(BorderFactory.createEmptyBorder(0, 30, 20, 30));
+            buttonPanel.add(createActionButton("Export CSV...", HEADER_COLOR,
+                    e -> exportCsv(this, "adoptions", CsvExporter.ADOPTIONS_SQL, CsvExporter.ADOPTIONS_HEADER,
+                            text -> titleLabel.setText(TITLE + "  " + text))));
+            add(buttonPanel, BorderLayout.SOUTH);
+        }
+
+        public void refreshTable() {
+            titleLabel.setText(TITLE + "  (loading...)");
+            table.refresh();
+        }
+
+        private void showCount() {
+            titleLabel.setText(String.format("%s  (%,d)", TITLE, table.getRowCount()));
+        }
+
+        private void showLoadError(Exception e) {
+            e.printStackTrace();
+            titleLabel.setText(TITLE);
+        }
+    }
+
+    class ApprovalsTab extends JPanel {
+        private static final String TITLE = "Pending Approvals";
+        private static final TableSource PENDING = new TableSource(
+                "adoptions a JOIN pets p ON a.pet_id = p.id JOIN users u ON a.user_id = u.id",
+                "a.status = 'PENDING'", null,
+                new QueryColumn("ID", "a.id", FilterMode.EQUALS, false, "a.id"),
+                new QueryColumn("Pet Name", "p.name", FilterMode.PREFIX_IGNORE_CASE, false,
+                        "p.name COLLATE NOCASE", "p.id", "a.id"),
+                new QueryColumn("Species", "p.species", FilterMode.PREFIX_IGNORE_CASE, false),
+                new QueryColumn("Adopter Name", "u.full_name", FilterMode.PREFIX_IGNORE_CASE, false,
+                        "u.full_name COLLATE NOCASE", "u.id", "a.id"),
+                new QueryColumn("Email", "u.email", FilterMode.PREFIX_IGNORE_CASE, false,
+                        "u.email COLLATE NOCASE", "u.id", "a.id"),
+                new QueryColumn("Requested", "a.adoption_date", FilterMode.PREFIX, true, "a.adoption_date", "a.id"),
+                new QueryColumn("Notes", "a.notes", FilterMode.NONE, true));
+
+        private final JLabel titleLabel;
+        private final PagedTable table;
+
+        public ApprovalsTab() {
+            setLayout(new BorderLayout());
+            setBackground(BACKGROUND_COLOR);
+
+            titleLabel = new JLabel(TITLE);
+            titleLabel.setFont(new Font("Segoe UI", Font.BOLD, 28));
+            titleLabel.setForeground(TEXT_COLOR);
+            titleLabel.setBorder(BorderFactory.createEmptyBorder(20, 30, 20, 30));
+            add(titleLabel, BorderLayout.NORTH);
+
+            table = new PagedTable(PENDING, "admin.approvals", 5, SortOrder.ASCENDING, this::showCount,
+                    this::showLoadError);
             table.setFont(new Font("Segoe UI", Font.PLAIN, 13));
             table.setRowHeight(30);
             table.getTableHeader().setFont(new Font("Segoe UI", Font.BOLD, 13));
             table.getTableHeader().setBackground(HEADER_COLOR);
             table.getTableHeader().setForeground(Color.WHITE);
+            table.setSelectionMode(ListSelectionModel.MULTIPLE_INTERVAL_SELECTION);
 
             JScrollPane scrollPane = new JScrollPane(table);
             scrollPane.setBorder(BorderFactory.createEmptyBorder(0, 30, 30, 30));
             add(scrollPane, BorderLayout.CENTER);
 
-            refreshTable();
+            JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+            buttonPanel.setBackground(BACKGROUND_COLOR);
+            buttonPanel.setBorder(BorderFactory.createEmptyBorder(0, 30, 20, 30));
+            buttonPanel.add(createActionButton("Approve Selected", new Color(39, 174, 96), e -> decideSelected(true)));
+            buttonPanel.add(createActionButton("Reject Selected", PRIMARY_COLOR, e -> decideSelected(false)));
+            add(buttonPanel, BorderLayout.SOUTH);
         }
 
         public void refreshTable() {
-            tableModel.setRowCount(0);
-
-            try (Connection conn = DatabaseManager.getConnection();
-                    Statement stmt = conn.createStatement()) {
-
-                String sql = """
-                            SELECT a.id, p.name as pet_name, u.full_name, u.email, a.adoption_date, a.status, a.notes
-                            FROM adoptions a
-                            JOIN pets p ON a.pet_id = p.id
-                            JOIN users u ON a.user_id = u.id
-                            ORDER BY a.adoption_date DESC
-                        """;
-
-                ResultSet rs = stmt.executeQuery(sql);
-
-                while (rs.next()) {
-                    tableModel.addRow(new Object[] {
-                            rs.getInt("id"),
-                            rs.getString("pet_name"),
-                            rs.getString("full_name"),
-                            rs.getString("email"),
-                            rs.getString("adoption_date"),
-                            rs.getString("status"),
-                            rs.getString("notes")
-                    });
+            titleLabel.setText(TITLE + "  (loading...)");
+            table.refresh();
+        }
+
+        private void showCount() {
+            titleLabel.setText(String.format("%s  (%,d)", TITLE, table.getRowCount()));
+        }
+
+        private void showLoadError(Exception e) {
+            e.printStackTrace();
+            titleLabel.setText(TITLE);
+        }
+
+        private void decideSelected(boolean approve) {
+            int[] selectedRows = table.getSelectedRows();
+            if (selectedRows.length == 0) {
+                JOptionPane.showMessageDialog(this, "Please select one or more requests", "No Selection",
+                        JOptionPane.WARNING_MESSAGE);
+                return;
+            }
+
+            java.util.List<Integer> adoptionIds = new java.util.ArrayList<>(selectedRows.length);
+            for (int row : selectedRows) {
+                Object[] values = table.getRowValues(row);
+                if (values == null) {
+                    JOptionPane.showMessageDialog(this,
+                            "Some of the selected requests are still loading. Please try again in a moment.",
+                            "Still Loading", JOptionPane.WARNING_MESSAGE);
+                    return;
                 }
-            } catch (SQLException e) {
-                e.printStackTrace();
+                adoptionIds.add((Integer) values[0]);
+            }
+
+            String action = approve ? "Approve" : "Reject";
+            int confirm = JOptionPane.showConfirmDialog(this,
+                    String.format("%s %,d adoption request%s?", action, adoptionIds.size(),
+                            adoptionIds.size() == 1 ? "" : "s"),
+                    "Confirm " + action, JOptionPane.YES_NO_OPTION);
+            if (confirm != JOptionPane.YES_OPTION) {
+                return;
             }
+
+            DbExecutor.deliver(AdoptionService.decide(adoptionIds, approve), decided -> {
+                String message = String.format("%s %,d request%s.", approve ? "Approved" : "Rejected", decided,
+                        decided == 1 ? "" : "s");
+                if (decided < adoptionIds.size()) {
+                    message += String.format("%n%,d had already been decided.", adoptionIds.size() - decided);
+                }
+                JOptionPane.showMessageDialog(this, message, "Success", JOptionPane.INFORMATION_MESSAGE);
+                refreshData();
+            }, e -> {
+                e.printStackTrace();
+                JOptionPane.showMessageDialog(this, "Failed to update requests: " + e.getMessage(), "Error",
+                        JOptionPane.ERROR_MESSAGE);
+            });
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,71 @@
+import java.sql.*;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+class AdoptionService {
+    private AdoptionService() {
+    }
+
+    // Completes with false when someone else claimed the pet first.
+    public static CompletableFuture<Boolean> adopt(int userId, int petId, String notes) {
+        return WriteQueue.submit(conn -> claim(conn, userId, petId, notes));
+    }
+
+    // All decisions go through as one write. Requests that are no longer PENDING, because another
+    // admin got to them first, are left alone; completes with how many were actually decided.
+    public static CompletableFuture<Integer> decide(List<Integer> adoptionIds, boolean approve) {
+        return WriteQueue.submit(conn -> applyDecisions(conn, adoptionIds, approve));
+    }
+
+    // The conditional update is the claim: only the command that still sees the pet
+    // as AVAILABLE changes a row, and only that one goes on to record the adoption.
+    static boolean claim(Connection conn, int userId, int petId, String notes) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(
+                "UPDATE pets SET status = 'ADOPTED' WHERE id = ? AND status = 'AVAILABLE'")) {
+            pstmt.setInt(1, petId);
+            if (pstmt.executeUpdate() == 0) {
+                return false;
+            }
+        }
+
+        try (PreparedStatement pstmt = conn.prepareStatement(
+                "INSERT INTO adoptions (user_id, pet_id, notes) VALUES (?, ?, ?)")) {
+            pstmt.setInt(1, userId);
+            pstmt.setInt(2, petId);
+            pstmt.setString(3, notes);
+            pstmt.executeUpdate();
+        }
+        return true;
+    }
+
+    static int applyDecisions(Connection conn, List<Integer> adoptionIds, boolean approve) throws SQLException {
+        if (!approve) {
+            // Runs while the requests are still PENDING, so only pets held by these requests are released.
+            try (PreparedStatement pstmt = conn.prepareStatement("""
+                        UPDATE pets SET status = 'AVAILABLE'
+                        WHERE status = 'ADOPTED'
+                          AND id = (SELECT pet_id FROM adoptions WHERE id = ? AND status = 'PENDING')
+                    """)) {
+                for (int adoptionId : adoptionIds) {
+                    pstmt.setInt(1, adoptionId);
+                    pstmt.addBatch();
+                }
+                pstmt.executeBatch();
+            }
+        }
+
+        int decided = 0;
+        try (PreparedStatement pstmt = conn.prepareStatement(
+                "UPDATE adoptions SET status = ? WHERE id = ? AND status = 'PENDING'")) {
+            for (int adoptionId : adoptionIds) {
+                pstmt.setString(1, approve ? "APPROVED" : "REJECTED");
+                pstmt.setInt(2, adoptionId);
+                pstmt.addBatch();
+            }
+            for (int count : pstmt.executeBatch()) {
+                decided += count;
+            }
+        }
+        return decided;
+    }
+}
@@ -0,0 +1,597 @@
+import com.sun.net.httpserver.*;
+
+import java.io.*;
+import java.lang.reflect.Method;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.sql.*;
+import java.util.*;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+// The catalog as JSON over HTTP, for `PetAdoptionSystem --server [port]`. Every request goes
+// through the same DatabaseManager pool and PetRepository cache as the desktop client, so any
+// number of clients share a handful of SQLite connections.
+//
+// Catalog reads (pages, pets, search, facets, stats) are served from a ResponseCache, which only
+// drops what a committed write actually touched. A user's adoptions can run to any length, so
+// they are written as rows are read and never buffered whole, with an ETag made of the count of
+// writes this process has seen and a random id for this start. Either way a repeated GET is answered without the database;
+// writes made by another process against the same file are not noticed, which is why the server
+// is meant to be the only process opening it.
+class ApiServer {
+    public static final int DEFAULT_PORT = 8080;
+
+    private static final int DEFAULT_LIMIT = 60;
+    private static final int MAX_LIMIT = 500;
+    private static final int FALLBACK_THREADS = 32;
+    private static final int BUFFER_SIZE = 1 << 14;
+    private static final long LOGIN_TTL_MS = TimeUnit.MINUTES.toMillis(5);
+    private static final int MAX_CACHED_LOGINS = 1000;
+    private static final Set<String> ADOPTION_STATUSES = Set.of("PENDING", "APPROVED", "REJECTED");
+
+    // dataVersion starts from zero on every run, so streamed ETags also carry this, or a tag kept
+    // from an earlier run could match after other processes changed the data in between.
+    private static final String EPOCH = Long.toString(new SecureRandom().nextLong() & Long.MAX_VALUE, 36);
+    private static final AtomicLong dataVersion = new AtomicLong();
+    private static final ResponseCache cache = new ResponseCache("pets", "pet_stats");
+    // Least recently used first out, so a full cache costs one client a fresh hash, not everyone.
+    private static final Map<String, CachedLogin> logins = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedLogin> eldest) {
+            return size() > MAX_CACHED_LOGINS;
+        }
+    };
+    private static long loginsVersion;
+
+    static {
+        DatabaseManager.addChangeListener((table, rowIds) -> {
+            dataVersion.incrementAndGet();
+            if (table.equals("users")) {
+                forgetLogins();
+            }
+        });
+    }
+
+    interface Handler {
+        void handle(Request request) throws Exception;
+    }
+
+    interface Body {
+        void write(JsonWriter json) throws IOException;
+    }
+
+    private record CachedLogin(User user, long expiresAt) {
+    }
+
+    // Thrown by handlers to answer with an error status instead of a body.
+    static class ApiException extends Exception {
+        final int status;
+
+        ApiException(int status, String message) {
+            super(message);
+            this.status = status;
+        }
+    }
+
+    private ApiServer() {
+    }
+
+    public static HttpServer start(int port) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress(port), 0);
+        server.setExecutor(createExecutor());
+
+        route(server, "/api/pets", ApiServer::pets);
+        route(server, "/api/search", ApiServer::search);
+        route(server, "/api/facets", ApiServer::facets);
+        route(server, "/api/adoptions", ApiServer::adoptions);
+        route(server, "/api/stats", ApiServer::stats);
+
+        server.start();
+        return server;
+    }
+
+    // One virtual thread per request where the JDK has them (21+). They are looked up reflectively
+    // so the project still builds on 17, where a fixed pool of platform threads is used instead.
+    private static Executor createExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (Executor) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            AtomicInteger count = new AtomicInteger();
+            return Executors.newFixedThreadPool(FALLBACK_THREADS, r -> {
+                Thread thread = new Thread(r, "api-worker-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    private static void route(HttpServer server, String path, Handler handler) {
+        server.createContext(path, exchange -> {
+            try (exchange) {
+                Request request = new Request(exchange);
+                try {
+                    if (!request.isGet()) {
+                        exchange.getResponseHeaders().set("Allow", "GET, HEAD");
+                        throw new ApiException(405, "Only GET and HEAD are supported");
+                    }
+                    handler.handle(request);
+                } catch (ApiException e) {
+                    request.sendError(e.status, e.getMessage());
+                } catch (RejectedExecutionException e) {
+                    exchange.getResponseHeaders().set("Retry-After", "1");
+                    request.sendError(503, "Too many sign-ins at once");
+                } catch (Exception e) {
+                    e.printStackTrace();
+                    request.sendError(500, "Internal error");
+                }
+            }
+        });
+    }
+
+    // GET /api/pets?after=&limit=&species=&size=&gender=&age= pages available pets by id, or
+    // is a search when q is given; GET /api/pets/{id} returns one pet.
+    private static void pets(Request request) throws Exception {
+        String rest = request.subPath("/api/pets");
+        if (!rest.isEmpty()) {
+            int id = parseInt(rest, "pet id");
+            List<Object> key = List.of("pet", id);
+            if (request.sendCached(key, false)) {
+                return;
+            }
+            long seen = cache.version();
+            Pet pet = PetRepository.get(id);
+            if (pet == null) {
+                throw new ApiException(404, "No pet with id " + id);
+            }
+            request.cacheAndSend(key, seen, ResponseCache.Scope.pets(id - 1, id), false, json -> writePet(json, pet));
+            return;
+        }
+
+        PetFilter filter = request.filter();
+        if (filter.hasQuery()) {
+            search(request);
+            return;
+        }
+        int after = request.intParam("after", 0);
+        int limit = request.limit();
+        List<Object> key = List.of("pets", filter, after, limit);
+        if (request.sendCached(key, false)) {
+            return;
+        }
+
+        // A full page only changes with the pets inside its id range; a short one also with any
+        // pet after it, which may become available and join it.
+        long seen = cache.version();
+        List<Pet> page = PetRepository.loadAvailablePage(filter, after, limit);
+        long upTo = page.size() < limit ? Long.MAX_VALUE : page.get(page.size() - 1).getId();
+        request.cacheAndSend(key, seen, ResponseCache.Scope.pets(after, upTo), false, json -> writePets(json, page));
+    }
+
+    // GET /api/search?q=&offset=&limit= plus the facet parameters, ranked by relevance.
+    private static void search(Request request) throws Exception {
+        PetFilter filter = request.filter();
+        if (!filter.hasQuery()) {
+            throw new ApiException(400, "Missing q");
+        }
+        int offset = request.intParam("offset", 0);
+        int limit = request.limit();
+        List<Object> key = List.of("search", filter, offset, limit);
+        if (request.sendCached(key, false)) {
+            return;
+        }
+
+        long seen = cache.version();
+        List<Pet> results = PetRepository.search(filter, offset, limit);
+        request.cacheAndSend(key, seen, ResponseCache.Scope.tables("pets"), false, json -> writePets(json, results));
+    }
+
+    private static void facets(Request request) throws Exception {
+        PetFilter filter = request.filter();
+        List<Object> key = List.of("facets", filter);
+        if (request.sendCached(key, false)) {
+            return;
+        }
+
+        long seen = cache.version();
+        FacetCounts counts = PetRepository.loadFacetCounts(filter);
+        request.cacheAndSend(key, seen, ResponseCache.Scope.tables("pets"), false, json -> {
+            json.beginObject();
+            for (PetFilter.Facet facet : PetFilter.Facet.values()) {
+                json.name(facet.name().toLowerCase(Locale.ROOT)).beginObject();
+                for (Map.Entry<String, Integer> entry : counts.get(facet).entrySet()) {
+                    json.name(entry.getKey()).value(entry.getValue());
+                }
+                json.endObject();
+            }
+            json.endObject();
+        });
+    }
+
+    // A user's own adoptions; an admin gets everyone's, optionally ?status=PENDING, newest first.
+    private static void adoptions(Request request) throws Exception {
+        User user = request.authenticate();
+        String status = request.param("status");
+        status = status == null ? "" : status.trim().toUpperCase(Locale.ROOT);
+        if (!status.isEmpty() && !ADOPTION_STATUSES.contains(status)) {
+            throw new ApiException(400, "Unknown status: " + status);
+        }
+        if (request.notModified("u" + user.getId() + (status.isEmpty() ? "" : "-" + status))) {
+            return;
+        }
+
+        List<Object> params = new ArrayList<>();
+        StringBuilder sql = new StringBuilder("""
+                    SELECT a.id, a.adoption_date, a.status, a.notes, p.id, p.name, p.species, p.breed,
+                           u.id, u.username, u.full_name
+                    FROM adoptions a
+                    JOIN pets p ON a.pet_id = p.id
+                    JOIN users u ON a.user_id = u.id
+                    WHERE 1 = 1
+                """);
+        if (!user.isAdmin()) {
+            sql.append(" AND a.user_id = ?");
+            params.add(user.getId());
+        }
+        if (!status.isEmpty()) {
+            sql.append(" AND a.status = ?");
+            params.add(status);
+        }
+        sql.append(" ORDER BY a.adoption_date DESC, a.id DESC");
+
+        try (Connection conn = DatabaseManager.getReadConnection();
+                PreparedStatement pstmt = PetCatalog.prepare(conn, sql.toString(), params)) {
+            pstmt.setFetchSize(500);
+            try (ResultSet rs = pstmt.executeQuery(); JsonWriter json = request.startJson()) {
+                json.beginArray();
+                while (rs.next()) {
+                    json.beginObject()
+                            .name("id").value(rs.getLong(1))
+                            .name("date").value(rs.getString(2))
+                            .name("status").value(rs.getString(3))
+                            .name("notes").value(rs.getString(4))
+                            .name("pet").beginObject()
+                            .name("id").value(rs.getLong(5))
+                            .name("name").value(rs.getString(6))
+                            .name("species").value(rs.getString(7))
+                            .name("breed").value(rs.getString(8))
+                            .endObject()
+                            .name("user").beginObject()
+                            .name("id").value(rs.getLong(9))
+                            .name("username").value(rs.getString(10))
+                            .name("fullName").value(rs.getString(11))
+                            .endObject()
+                            .endObject();
+                }
+                json.endArray();
+            }
+        }
+    }
+
+    private static void stats(Request request) throws Exception {
+        User user = request.authenticate();
+        if (!user.isAdmin()) {
+            throw new ApiException(403, "Admins only");
+        }
+        List<Object> key = List.of("stats");
+        if (request.sendCached(key, true)) {
+            return;
+        }
+
+        long seen = cache.version();
+        PetStats stats;
+        try (Connection conn = DatabaseManager.getReadConnection()) {
+            stats = PetStats.load(conn);
+        }
+        request.cacheAndSend(key, seen, ResponseCache.Scope.tables("pet_stats"), true, json -> json.beginObject()
+                .name("totalPets").value(stats.getTotalPets())
+                .name("availablePets").value(stats.getAvailablePets())
+                .name("adoptedPets").value(stats.getAdoptedPets())
+                .name("totalAdoptions").value(stats.getTotalAdoptions())
+                .endObject());
+    }
+
+    private static void writePets(JsonWriter json, List<Pet> pets) throws IOException {
+        json.beginArray();
+        for (Pet pet : pets) {
+            writePet(json, pet);
+        }
+        json.endArray();
+    }
+
+    private static void writePet(JsonWriter json, Pet pet) throws IOException {
+        json.beginObject()
+                .name("id").value(pet.getId())
+                .name("name").value(pet.getName())
+                .name("species").value(pet.getSpecies())
+                .name("breed").value(pet.getBreed())
+                .name("age").value(pet.getAge())
+                .name("gender").value(pet.getGender())
+                .name("size").value(pet.getSize())
+                .name("color").value(pet.getColor())
+                .name("description").value(pet.getDescription())
+                .name("imageUrl").value(pet.getImageUrl())
+                .name("status").value(pet.getStatus())
+                .endObject();
+    }
+
+    private static int parseInt(String value, String what) throws ApiException {
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new ApiException(400, "Invalid " + what + ": " + value);
+        }
+    }
+
+    // Basic credentials are checked with the slow password hash once, then remembered by their
+    // SHA-256 for a few minutes so a client does not pay for the hash on every request. Any write
+    // to users forgets them all, so a changed password or a demoted admin takes effect at once.
+    private static User login(String authorization) throws Exception {
+        String digest = sha256(authorization);
+        long seen;
+        synchronized (logins) {
+            CachedLogin cached = logins.get(digest);
+            if (cached != null) {
+                if (cached.expiresAt() > System.currentTimeMillis()) {
+                    return cached.user();
+                }
+                logins.remove(digest);
+            }
+            seen = loginsVersion;
+        }
+
+        String decoded;
+        try {
+            decoded = new String(Base64.getDecoder().decode(authorization.substring("Basic ".length()).trim()),
+                    StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        int colon = decoded.indexOf(':');
+        if (colon < 0) {
+            return null;
+        }
+
+        User user;
+        try {
+            user = AuthService.login(decoded.substring(0, colon), decoded.substring(colon + 1).toCharArray()).get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception cause) {
+                throw cause;
+            }
+            throw e;
+        }
+
+        // Not kept if users changed while the hash was checked, as the check may predate it.
+        if (user != null) {
+            synchronized (logins) {
+                if (seen == loginsVersion) {
+                    logins.put(digest, new CachedLogin(user, System.currentTimeMillis() + LOGIN_TTL_MS));
+                }
+            }
+        }
+        return user;
+    }
+
+    private static void forgetLogins() {
+        synchronized (logins) {
+            loginsVersion++;
+            logins.clear();
+        }
+    }
+
+    private static String sha256(String value) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static class Request {
+        private final HttpExchange exchange;
+        private final Map<String, String> params = new HashMap<>();
+
+        Request(HttpExchange exchange) {
+            this.exchange = exchange;
+            String query = exchange.getRequestURI().getRawQuery();
+            if (query != null) {
+                for (String pair : query.split("&")) {
+                    int eq = pair.indexOf('=');
+                    String name = eq < 0 ? pair : pair.substring(0, eq);
+                    String value = eq < 0 ? "" : pair.substring(eq + 1);
+                    params.put(URLDecoder.decode(name, StandardCharsets.UTF_8),
+                            URLDecoder.decode(value, StandardCharsets.UTF_8));
+                }
+            }
+        }
+
+        boolean isGet() {
+            String method = exchange.getRequestMethod();
+            return method.equals("GET") || method.equals("HEAD");
+        }
+
+        String subPath(String base) {
+            String path = exchange.getRequestURI().getPath();
+            return path.length() > base.length() ? path.substring(base.length()).replaceFirst("^/", "") : "";
+        }
+
+        String param(String name) {
+            return params.get(name);
+        }
+
+        int intParam(String name, int defaultValue) throws ApiException {
+            String value = params.get(name);
+            return value == null || value.isBlank() ? defaultValue : Math.max(0, parseInt(value, name));
+        }
+
+        int limit() throws ApiException {
+            return Math.min(MAX_LIMIT, Math.max(1, intParam("limit", DEFAULT_LIMIT)));
+        }
+
+        // Facet values are comma separated, e.g. species=Dog,Cat&age=BABY. Ages must name an
+        // AgeRange, in any case; the other facets are matched against the column as given.
+        PetFilter filter() throws ApiException {
+            Map<PetFilter.Facet, Set<String>> selected = new EnumMap<>(PetFilter.Facet.class);
+            for (PetFilter.Facet facet : PetFilter.Facet.values()) {
+                String value = params.get(facet.name().toLowerCase(Locale.ROOT));
+                if (value != null && !value.isBlank()) {
+                    Set<String> values = new TreeSet<>();
+                    for (String part : value.split(",")) {
+                        if (!part.isBlank()) {
+                            values.add(facet == PetFilter.Facet.AGE ? ageRange(part.trim()) : part.trim());
+                        }
+                    }
+                    selected.put(facet, values);
+                }
+            }
+            return new PetFilter(params.get("q"), selected);
+        }
+
+        private static String ageRange(String value) throws ApiException {
+            for (PetFilter.AgeRange range : PetFilter.AgeRange.values()) {
+                if (range.name().equalsIgnoreCase(value)) {
+                    return range.name();
+                }
+            }
+            throw new ApiException(400, "Unknown age: " + value + ", expected one of "
+                    + Arrays.toString(PetFilter.AgeRange.values()));
+        }
+
+        User authenticate() throws Exception {
+            String authorization = exchange.getRequestHeaders().getFirst("Authorization");
+            User user = authorization != null && authorization.startsWith("Basic ") ? login(authorization) : null;
+            if (user == null) {
+                exchange.getResponseHeaders().set("WWW-Authenticate", "Basic realm=\"Pet Adoption\", charset=\"UTF-8\"");
+                throw new ApiException(401, "Sign in required");
+            }
+            return user;
+        }
+
+        // For streamed responses, which are per caller: the tag is this run and its data version,
+        // plus the scope that tells one caller's view from another's.
+        boolean notModified(String scope) throws IOException {
+            return notModified("\"" + EPOCH + "-" + dataVersion.get() + "-" + scope + "\"", true);
+        }
+
+        private boolean notModified(String etag, boolean isPrivate) throws IOException {
+            Headers headers = exchange.getResponseHeaders();
+            headers.set("ETag", etag);
+            headers.set("Cache-Control", isPrivate ? "private, no-cache" : "no-cache");
+            headers.set("Vary", "Accept-Encoding, Authorization");
+
+            String ifNoneMatch = exchange.getRequestHeaders().getFirst("If-None-Match");
+            if (ifNoneMatch != null && Arrays.stream(ifNoneMatch.split(","))
+                    .map(String::trim)
+                    .anyMatch(tag -> tag.equals(etag) || tag.equals("W/" + etag) || tag.equals("*"))) {
+                exchange.sendResponseHeaders(304, -1);
+                return true;
+            }
+            return false;
+        }
+
+        boolean sendCached(Object key, boolean isPrivate) throws IOException {
+            ResponseCache.Entry entry = cache.get(key);
+            if (entry == null) {
+                return false;
+            }
+            send(entry, isPrivate);
+            return true;
+        }
+
+        // Renders the whole body, caches it under key unless a write got in since seen, and
+        // sends it the same way a cache hit is sent.
+        void cacheAndSend(Object key, long seen, ResponseCache.Scope scope, boolean isPrivate, Body body)
+                throws IOException {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (JsonWriter json = new JsonWriter(new OutputStreamWriter(bytes, StandardCharsets.UTF_8))) {
+                body.write(json);
+            }
+            send(cache.put(key, seen, scope, bytes.toByteArray()), isPrivate);
+        }
+
+        private void send(ResponseCache.Entry entry, boolean isPrivate) throws IOException {
+            if (notModified(entry.etag, isPrivate)) {
+                return;
+            }
+
+            Headers headers = exchange.getResponseHeaders();
+            headers.set("Content-Type", "application/json; charset=utf-8");
+            byte[] body = entry.plain;
+            if (acceptsGzip()) {
+                headers.set("Content-Encoding", "gzip");
+                body = entry.gzip;
+            }
+
+            if (exchange.getRequestMethod().equals("HEAD")) {
+                exchange.sendResponseHeaders(200, -1);
+                return;
+            }
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+        }
+
+        private boolean acceptsGzip() {
+            String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+            return acceptEncoding != null && acceptEncoding.toLowerCase(Locale.ROOT).contains("gzip");
+        }
+
+        // Chunked, so the body starts going out with the first row.
+        JsonWriter startJson() throws IOException {
+            Headers headers = exchange.getResponseHeaders();
+            headers.set("Content-Type", "application/json; charset=utf-8");
+
+            if (exchange.getRequestMethod().equals("HEAD")) {
+                exchange.sendResponseHeaders(200, -1);
+                return new JsonWriter(Writer.nullWriter());
+            }
+
+            OutputStream body = exchange.getResponseBody();
+            boolean gzip = acceptsGzip();
+            if (gzip) {
+                headers.set("Content-Encoding", "gzip");
+            }
+            exchange.sendResponseHeaders(200, 0);
+            if (gzip) {
+                // JSON compresses well even at the fastest level, which keeps large streams
+                // from being held up by the compressor.
+                body = new GZIPOutputStream(body, BUFFER_SIZE) {
+                    {
+                        def.setLevel(Deflater.BEST_SPEED);
+                    }
+                };
+            }
+            return new JsonWriter(new BufferedWriter(new OutputStreamWriter(body, StandardCharsets.UTF_8), BUFFER_SIZE));
+        }
+
+        // Once a body has started the status can no longer change, so the response is cut short.
+        void sendError(int status, String message) throws IOException {
+            if (exchange.getResponseCode() != -1) {
+                return;
+            }
+            byte[] body = ("{\"error\":" + quote(message) + "}").getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+            exchange.getResponseHeaders().remove("ETag");
+            exchange.sendResponseHeaders(status, exchange.getRequestMethod().equals("HEAD") ? -1 : body.length);
+            if (!exchange.getRequestMethod().equals("HEAD")) {
+                exchange.getResponseBody().write(body);
+            }
+        }
+
+        private static String quote(String message) throws IOException {
+            StringWriter out = new StringWriter();
+            new JsonWriter(out).value(message == null ? "" : message);
+            return out.toString();
+        }
+    }
+}
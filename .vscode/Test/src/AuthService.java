@@ -0,0 +1,165 @@
+import java.sql.*;
+import java.util.Arrays;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+// Password hashing is deliberately slow, so it runs on its own small pool instead of the EDT or
+// the DB workers. The queue is bounded: when it is full a sign-in fails at once with a
+// RejectedExecutionException rather than waiting behind everyone else.
+class AuthService {
+    static final int THREADS = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    private static final int QUEUE_CAPACITY = THREADS * 8;
+
+    private static final ExecutorService POOL = new ThreadPoolExecutor(THREADS, THREADS, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(QUEUE_CAPACITY), new ThreadFactory() {
+                private final AtomicInteger count = new AtomicInteger();
+
+                @Override
+                public Thread newThread(Runnable r) {
+                    Thread thread = new Thread(r, "auth-worker-" + count.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+
+    // Unknown usernames are checked against this so they take as long as a wrong password. It is
+    // made up front by warmUp, which also warms the hash code up before the first sign-in.
+    private static volatile String dummyHash;
+
+    private AuthService() {
+    }
+
+    static void warmUp() {
+        POOL.execute(AuthService::getDummyHash);
+    }
+
+    // Completes with null for an unknown user or a wrong password. The password array is cleared.
+    public static CompletableFuture<User> login(String username, char[] password) {
+        return supply(() -> {
+            try {
+                return authenticate(username, password);
+            } catch (SQLException e) {
+                throw new CompletionException(e);
+            } finally {
+                Arrays.fill(password, '\0');
+            }
+        });
+    }
+
+    public static CompletableFuture<User> register(String username, char[] password, String email, String fullName,
+            String phone, String address) {
+        return supply(() -> {
+            try {
+                return PasswordHasher.hash(password);
+            } finally {
+                Arrays.fill(password, '\0');
+            }
+        }).thenCompose(hash -> WriteQueue.submit(
+                conn -> insertUser(conn, username, hash, email, fullName, phone, address)));
+    }
+
+    static CompletableFuture<Boolean> verifyAsync(char[] password, String stored) {
+        return supply(() -> PasswordHasher.verify(password, stored));
+    }
+
+    private static <T> CompletableFuture<T> supply(Supplier<T> work) {
+        try {
+            return CompletableFuture.supplyAsync(work, POOL);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private static User authenticate(String username, char[] password) throws SQLException {
+        String sql = """
+                    SELECT id, username, password, email, full_name, phone_number, address, is_admin
+                    FROM users
+                    WHERE username = ?
+                """;
+
+        User user = null;
+        String stored = null;
+        try (Connection conn = DatabaseManager.getReadConnection();
+                PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setString(1, username);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    stored = rs.getString("password");
+                    user = new User(
+                            rs.getInt("id"),
+                            rs.getString("username"),
+                            rs.getString("email"),
+                            rs.getString("full_name"),
+                            rs.getString("phone_number"),
+                            rs.getString("address"),
+                            rs.getInt("is_admin") == 1);
+                }
+            }
+        }
+
+        if (user == null) {
+            PasswordHasher.verify(password, getDummyHash());
+            return null;
+        }
+        if (!PasswordHasher.verify(password, stored)) {
+            return null;
+        }
+
+        // Plaintext rows and hashes from a lower cost setting are replaced on a successful login.
+        // The update only applies if the row still holds what was verified.
+        if (PasswordHasher.needsRehash(stored)) {
+            String previous = stored;
+            String upgraded = PasswordHasher.hash(password);
+            int userId = user.getId();
+            WriteQueue.submit(conn -> updatePassword(conn, userId, previous, upgraded))
+                    .exceptionally(e -> {
+                        e.printStackTrace();
+                        return 0;
+                    });
+        }
+        return user;
+    }
+
+    private static String getDummyHash() {
+        if (dummyHash == null) {
+            dummyHash = PasswordHasher.hash("not a password".toCharArray());
+        }
+        return dummyHash;
+    }
+
+    private static int updatePassword(Connection conn, int userId, String previous, String hash) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(
+                "UPDATE users SET password = ? WHERE id = ? AND password = ?")) {
+            pstmt.setString(1, hash);
+            pstmt.setInt(2, userId);
+            pstmt.setString(3, previous);
+            return pstmt.executeUpdate();
+        }
+    }
+
+    private static User insertUser(Connection conn, String username, String hash, String email, String fullName,
+            String phone, String address) throws SQLException {
+        String sql = "INSERT INTO users (username, password, email, full_name, phone_number, address) VALUES (?, ?, ?, ?, ?, ?)";
+        try (PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            pstmt.setString(1, username);
+            pstmt.setString(2, hash);
+            pstmt.setString(3, email);
+            pstmt.setString(4, fullName);
+            pstmt.setString(5, phone);
+            pstmt.setString(6, address);
+
+            int affected = pstmt.executeUpdate();
+
+            if (affected > 0) {
+                try (ResultSet rs = pstmt.getGeneratedKeys()) {
+                    if (rs.next()) {
+                        return new User(rs.getInt(1), username, email, fullName, phone, address, false);
+                    }
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+import org.sqlite.SQLiteCommitListener;
+import org.sqlite.SQLiteUpdateListener;
+
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+interface ChangeListener {
+    void onChange(String table, Set<Long> rowIds);
+}
+
+class ChangeTracker implements SQLiteUpdateListener, SQLiteCommitListener {
+    private final List<ChangeListener> listeners = new CopyOnWriteArrayList<>();
+    private final Map<String, Set<Long>> pending = new HashMap<>();
+    private final Map<String, Set<Long>> committed = new HashMap<>();
+
+    public void addListener(ChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(ChangeListener listener) {
+        listeners.remove(listener);
+    }
+
+    @Override
+    public synchronized void onUpdate(Type type, String database, String table, long rowId) {
+        pending.computeIfAbsent(table, t -> new HashSet<>()).add(rowId);
+    }
+
+    @Override
+    public synchronized void onCommit() {
+        pending.forEach((table, rowIds) -> committed.computeIfAbsent(table, t -> new HashSet<>()).addAll(rowIds));
+        pending.clear();
+    }
+
+    @Override
+    public synchronized void onRollback() {
+        pending.clear();
+    }
+
+    // SQLite calls the commit hook before the commit is durable, so listeners are only told
+    // once the writer connection is handed back and readers are guaranteed to see the change.
+    public void flush() {
+        Map<String, Set<Long>> changes;
+        synchronized (this) {
+            if (committed.isEmpty()) {
+                return;
+            }
+            changes = new HashMap<>(committed);
+            committed.clear();
+        }
+
+        for (Map.Entry<String, Set<Long>> entry : changes.entrySet()) {
+            Set<Long> rowIds = Collections.unmodifiableSet(entry.getValue());
+            for (ChangeListener listener : listeners) {
+                try {
+                    listener.onChange(entry.getKey(), rowIds);
+                } catch (RuntimeException e) {
+                    e.printStackTrace();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,196 @@
+import org.sqlite.SQLiteConfig;
+import org.sqlite.SQLiteConnection;
+import org.sqlite.javax.SQLiteConnectionPoolDataSource;
+import org.sqlite.javax.SQLitePooledConnection;
+
+import javax.sql.ConnectionEvent;
+import javax.sql.ConnectionEventListener;
+import javax.sql.PooledConnection;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.*;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+class ConnectionPool {
+    private static final int BUSY_TIMEOUT_MS = 5000;
+    private static final String MMAP_SIZE = String.valueOf(256L * 1024 * 1024);
+    private static final long ACQUIRE_TIMEOUT_MS = 10000;
+
+    private final SQLiteConnectionPoolDataSource writerSource;
+    private final SQLiteConnectionPoolDataSource readerSource;
+    private final BlockingQueue<PooledConnection> writer = new ArrayBlockingQueue<>(1);
+    private final BlockingQueue<PooledConnection> readers;
+    private final Set<PooledConnection> checkedOut = ConcurrentHashMap.newKeySet();
+    private final List<PooledConnection> allConnections = new CopyOnWriteArrayList<>();
+    private final ChangeTracker changeTracker;
+    private volatile boolean closed;
+
+    public ConnectionPool(String url, int readerCount, ChangeTracker changeTracker) throws SQLException {
+        this.changeTracker = changeTracker;
+        // Writer transactions take the write lock at BEGIN, so contention shows up as SQLITE_BUSY
+        // before any work is done rather than as a failed lock upgrade halfway through.
+        SQLiteConfig writerConfig = createConfig();
+        writerConfig.setTransactionMode(SQLiteConfig.TransactionMode.IMMEDIATE);
+        writerSource = new SQLiteConnectionPoolDataSource(writerConfig);
+        writerSource.setUrl(url);
+        readerSource = new SQLiteConnectionPoolDataSource(createConfig());
+        readerSource.setUrl(url);
+        readers = new ArrayBlockingQueue<>(readerCount);
+
+        // The writer is opened first so the database is already in WAL mode when readers attach.
+        open(writerSource, writer, false);
+        for (int i = 0; i < readerCount; i++) {
+            open(readerSource, readers, true);
+        }
+    }
+
+    private static SQLiteConfig createConfig() {
+        SQLiteConfig config = new SQLiteConfig();
+        config.setJournalMode(SQLiteConfig.JournalMode.WAL);
+        config.setSynchronous(SQLiteConfig.SynchronousMode.NORMAL);
+        config.setBusyTimeout(BUSY_TIMEOUT_MS);
+        config.setPragma(SQLiteConfig.Pragma.MMAP_SIZE, MMAP_SIZE);
+        return config;
+    }
+
+    private void open(SQLiteConnectionPoolDataSource source, BlockingQueue<PooledConnection> queue,
+            boolean queryOnly) throws SQLException {
+        PooledConnection pooled = source.getPooledConnection();
+        if (queryOnly) {
+            try (Connection conn = pooled.getConnection();
+                    Statement stmt = conn.createStatement()) {
+                stmt.execute("PRAGMA query_only = ON");
+            }
+        } else {
+            // Every write in the process goes through this one connection, so its hooks see them all.
+            SQLiteConnection physical = ((SQLitePooledConnection) pooled).getPhysicalConn();
+            physical.addUpdateListener(changeTracker);
+            physical.addCommitListener(changeTracker);
+        }
+
+        pooled.addConnectionEventListener(new ConnectionEventListener() {
+            // Connections are released by the handle acquire returns, once the driver is done with them.
+            @Override
+            public void connectionClosed(ConnectionEvent event) {
+            }
+
+            @Override
+            public void connectionErrorOccurred(ConnectionEvent event) {
+                discard(pooled, source, queue, queryOnly);
+            }
+        });
+
+        allConnections.add(pooled);
+        queue.offer(pooled);
+    }
+
+    public Connection getWriteConnection() throws SQLException {
+        return acquire(writer, "writer");
+    }
+
+    public Connection getReadConnection() throws SQLException {
+        return acquire(readers, "reader");
+    }
+
+    private Connection acquire(BlockingQueue<PooledConnection> queue, String kind) throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool is closed");
+        }
+
+        PooledConnection pooled;
+        try {
+            pooled = queue.poll(ACQUIRE_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a " + kind + " connection", e);
+        }
+
+        if (pooled == null) {
+            throw new SQLException("Timed out waiting for a " + kind + " connection");
+        }
+
+        try {
+            Connection handle = pooled.getConnection();
+            checkedOut.add(pooled);
+            return releaseOnClose(handle, pooled, queue);
+        } catch (SQLException e) {
+            queue.offer(pooled);
+            throw e;
+        }
+    }
+
+    // The driver's handle fires connectionClosed before it rolls back and restores auto-commit on
+    // the physical connection, so releasing from that event would let the next borrower in while
+    // the reset is still running. This handle releases only after the driver's close returns,
+    // and only on the first close, as closing a stale driver handle again would reset the
+    // connection under whoever holds it now.
+    private Connection releaseOnClose(Connection handle, PooledConnection pooled,
+            BlockingQueue<PooledConnection> queue) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(ConnectionPool.class.getClassLoader(),
+                new Class<?>[] { Connection.class }, (proxy, method, args) -> {
+                    if (method.getName().equals("close") && method.getParameterCount() == 0) {
+                        if (released.compareAndSet(false, true)) {
+                            try {
+                                handle.close();
+                            } finally {
+                                release(pooled, queue);
+                            }
+                        }
+                        return null;
+                    }
+                    try {
+                        return method.invoke(handle, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+
+    private void release(PooledConnection pooled, BlockingQueue<PooledConnection> queue) {
+        if (checkedOut.remove(pooled) && !closed) {
+            queue.offer(pooled);
+            if (queue == writer) {
+                changeTracker.flush();
+            }
+        }
+    }
+
+    private void discard(PooledConnection pooled, SQLiteConnectionPoolDataSource source,
+            BlockingQueue<PooledConnection> queue, boolean queryOnly) {
+        checkedOut.remove(pooled);
+        allConnections.remove(pooled);
+        try {
+            pooled.close();
+        } catch (SQLException ignored) {
+        }
+
+        if (!closed) {
+            if (queue == writer) {
+                changeTracker.flush();
+            }
+            try {
+                open(source, queue, queryOnly);
+            } catch (SQLException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    public void close() {
+        closed = true;
+        for (PooledConnection pooled : allConnections) {
+            try {
+                pooled.close();
+            } catch (SQLException e) {
+                e.printStackTrace();
+            }
+        }
+        allConnections.clear();
+        writer.clear();
+        readers.clear();
+    }
+}
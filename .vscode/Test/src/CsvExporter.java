@@ -0,0 +1,120 @@
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.sql.*;
+import java.util.function.LongConsumer;
+import java.util.zip.GZIPOutputStream;
+
+class CsvExporter {
+    public static final String PETS_SQL = """
+                SELECT id, name, species, breed, age, gender, size, color, status, created_at, description
+                FROM pets
+                ORDER BY id
+            """;
+    public static final String[] PETS_HEADER = { "ID", "Name", "Species", "Breed", "Age", "Gender", "Size", "Color",
+            "Status", "Added", "Description" };
+
+    public static final String ADOPTIONS_SQL = """
+                SELECT a.id, p.name, u.full_name, u.email, a.adoption_date, a.status, a.notes
+                FROM adoptions a
+                JOIN pets p ON a.pet_id = p.id
+                JOIN users u ON a.user_id = u.id
+                ORDER BY a.adoption_date DESC
+            """;
+    public static final String[] ADOPTIONS_HEADER = { "ID", "Pet Name", "Adopter Name", "Email", "Date", "Status",
+            "Notes" };
+
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int PROGRESS_INTERVAL = 10000;
+
+    private CsvExporter() {
+    }
+
+    // Rows go straight from a forward-only cursor into a buffered writer, so memory use does not
+    // depend on the row count. The file is written beside the target and moved into place at the
+    // end so a failed export never leaves a truncated file behind.
+    public static long export(String sql, String[] header, Path target, boolean gzip, LongConsumer progress)
+            throws IOException, SQLException {
+        Path dir = target.toAbsolutePath().getParent();
+        Path tmp = Files.createTempFile(dir, "export", ".tmp");
+        long rows = 0;
+        try {
+            try (Connection conn = DatabaseManager.getReadConnection();
+                    Statement stmt = conn.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                    Writer out = open(tmp, gzip)) {
+                stmt.setFetchSize(1000);
+
+                // Excel only detects UTF-8 with a byte order mark and expects CRLF line endings.
+                out.write('\uFEFF');
+                writeRow(out, header);
+
+                try (ResultSet rs = stmt.executeQuery(sql)) {
+                    int columns = rs.getMetaData().getColumnCount();
+                    String[] values = new String[columns];
+                    while (rs.next()) {
+                        for (int i = 0; i < columns; i++) {
+                            values[i] = rs.getString(i + 1);
+                        }
+                        writeRow(out, values);
+
+                        if (++rows % PROGRESS_INTERVAL == 0) {
+                            progress.accept(rows);
+                        }
+                    }
+                }
+            }
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+        progress.accept(rows);
+        return rows;
+    }
+
+    private static Writer open(Path file, boolean gzip) throws IOException {
+        OutputStream out = Files.newOutputStream(file);
+        if (gzip) {
+            out = new GZIPOutputStream(out, BUFFER_SIZE);
+        }
+        return new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+
+    private static void writeRow(Writer out, String[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            writeField(out, values[i]);
+        }
+        out.write("\r\n");
+    }
+
+    private static void writeField(Writer out, String value) throws IOException {
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+
+        // Text starting with a formula character would be evaluated by spreadsheet apps.
+        boolean formula = "=+@".indexOf(value.charAt(0)) >= 0
+                || (value.charAt(0) == '-' && value.length() > 1 && !Character.isDigit(value.charAt(1)));
+        boolean quote = formula || value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!quote) {
+            out.write(value);
+            return;
+        }
+
+        out.write('"');
+        if (formula) {
+            out.write('\'');
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                out.write('"');
+            }
+            out.write(c);
+        }
+        out.write('"');
+    }
+}
@@ -0,0 +1,128 @@
+import javax.swing.*;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+class DbExecutor {
+    private static final int THREADS = 4;
+
+    private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(THREADS, new ThreadFactory() {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, "db-worker-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    });
+
+    private static final Map<String, Task<?>> running = new ConcurrentHashMap<>();
+
+    private DbExecutor() {
+    }
+
+    // Keyed tasks replace any earlier task with the same key; keys are prefixed with the
+    // MainFrame card name ("browse.pets", "admin.stats") so card switches can cancel them.
+    public static <T> void submit(String key, Callable<T> work, Consumer<T> onSuccess,
+            Consumer<Exception> onError) {
+        Task<T> task = new Task<>(key, work, onSuccess, onError);
+        Task<?> previous = running.put(key, task);
+        if (previous != null) {
+            previous.cancel();
+        }
+        task.future = EXECUTOR.submit(task);
+    }
+
+    public static <T> void execute(Callable<T> work, Consumer<T> onSuccess, Consumer<Exception> onError) {
+        Task<T> task = new Task<>(null, work, onSuccess, onError);
+        task.future = EXECUTOR.submit(task);
+    }
+
+    // Hands the outcome of a write queued elsewhere back to the EDT the same way execute() does.
+    public static <T> void deliver(CompletableFuture<T> future, Consumer<T> onSuccess, Consumer<Exception> onError) {
+        future.whenComplete((result, error) -> SwingUtilities.invokeLater(() -> {
+            if (error == null) {
+                onSuccess.accept(result);
+                return;
+            }
+
+            Throwable cause = error instanceof CompletionException && error.getCause() != null
+                    ? error.getCause()
+                    : error;
+            onError.accept(cause instanceof Exception exception ? exception : new RuntimeException(cause));
+        }));
+    }
+
+    public static void cancel(String key) {
+        Task<?> task = running.remove(key);
+        if (task != null) {
+            task.cancel();
+        }
+    }
+
+    public static void cancelAllExcept(String card) {
+        for (String key : running.keySet()) {
+            if (!key.startsWith(card + ".")) {
+                cancel(key);
+            }
+        }
+    }
+
+    private static class Task<T> implements Runnable {
+        private final String key;
+        private final Callable<T> work;
+        private final Consumer<T> onSuccess;
+        private final Consumer<Exception> onError;
+        private volatile boolean cancelled;
+        private volatile Future<?> future;
+
+        Task(String key, Callable<T> work, Consumer<T> onSuccess, Consumer<Exception> onError) {
+            this.key = key;
+            this.work = work;
+            this.onSuccess = onSuccess;
+            this.onError = onError;
+        }
+
+        void cancel() {
+            cancelled = true;
+            Future<?> f = future;
+            if (f != null) {
+                f.cancel(true);
+            }
+        }
+
+        @Override
+        public void run() {
+            if (cancelled) {
+                return;
+            }
+
+            try {
+                T result = work.call();
+                SwingUtilities.invokeLater(() -> {
+                    if (finish()) {
+                        onSuccess.accept(result);
+                    }
+                });
+            } catch (Exception e) {
+                SwingUtilities.invokeLater(() -> {
+                    if (finish()) {
+                        onError.accept(e);
+                    }
+                });
+            }
+        }
+
+        private boolean finish() {
+            if (cancelled) {
+                return false;
+            }
+            if (key != null) {
+                running.remove(key, this);
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,257 @@
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+interface ImageFetcher {
+    InputStream open(String url) throws IOException;
+}
+
+class DefaultImageFetcher implements ImageFetcher {
+    private static final int TIMEOUT_MS = 10000;
+
+    @Override
+    public InputStream open(String url) throws IOException {
+        if (url.startsWith("http://") || url.startsWith("https://")) {
+            HttpURLConnection conn = (HttpURLConnection) new URL(url).openConnection();
+            conn.setConnectTimeout(TIMEOUT_MS);
+            conn.setReadTimeout(TIMEOUT_MS);
+            conn.setRequestProperty("User-Agent", "PetAdoptionSystem");
+            return conn.getInputStream();
+        }
+        return Files.newInputStream(Paths.get(url));
+    }
+}
+
+class ImageCache {
+    public static final int CARD_WIDTH = 350;
+    public static final int CARD_HEIGHT = 250;
+
+    private static final long MAX_MEMORY_BYTES = 48L * 1024 * 1024;
+    private static final Path DISK_CACHE_DIR = Paths.get("thumbnails");
+    private static final int DECODER_THREADS = 2;
+    private static final long RETRY_FAILED_AFTER_MS = 30_000;
+    private static final int MAX_FAILED = 512;
+
+    private static final Map<String, BufferedImage> memory = new LinkedHashMap<>(64, 0.75f, true);
+    private static final Map<String, List<Consumer<BufferedImage>>> pending = new HashMap<>();
+    // Images that could not be loaded, with when to try again, so a broken URL is not refetched
+    // for every repaint but a passing network error does not blank the image for good.
+    private static final Map<String, Long> failedUntil = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+            return size() > MAX_FAILED;
+        }
+    };
+    private static long memoryBytes;
+    private static volatile ImageFetcher fetcher = new DefaultImageFetcher();
+
+    // Most recently requested images are decoded first so the cards in view fill in
+    // before those the user has already scrolled past.
+    private static final ExecutorService DECODER = new ThreadPoolExecutor(DECODER_THREADS, DECODER_THREADS,
+            0L, TimeUnit.MILLISECONDS, new LinkedBlockingDeque<>() {
+                @Override
+                public boolean offer(Runnable r) {
+                    return super.offerFirst(r);
+                }
+            }, new ThreadFactory() {
+                private final AtomicInteger count = new AtomicInteger();
+
+                @Override
+                public Thread newThread(Runnable r) {
+                    Thread thread = new Thread(r, "image-decoder-" + count.incrementAndGet());
+                    thread.setDaemon(true);
+                    thread.setPriority(Thread.NORM_PRIORITY - 1);
+                    return thread;
+                }
+            });
+
+    private ImageCache() {
+    }
+
+    public static void setFetcher(ImageFetcher imageFetcher) {
+        fetcher = imageFetcher;
+    }
+
+    public static synchronized BufferedImage getIfPresent(String url, int width, int height) {
+        return memory.get(key(url, width, height));
+    }
+
+    public static void load(String url, int width, int height, Consumer<BufferedImage> callback) {
+        if (url == null || url.isBlank()) {
+            return;
+        }
+
+        String key = key(url, width, height);
+        synchronized (ImageCache.class) {
+            Long retryAt = failedUntil.get(key);
+            if (retryAt != null) {
+                if (retryAt > System.currentTimeMillis()) {
+                    return;
+                }
+                failedUntil.remove(key);
+            }
+
+            BufferedImage cached = memory.get(key);
+            if (cached != null) {
+                callback.accept(cached);
+                return;
+            }
+
+            List<Consumer<BufferedImage>> waiting = pending.get(key);
+            if (waiting != null) {
+                waiting.add(callback);
+                return;
+            }
+            waiting = new ArrayList<>();
+            waiting.add(callback);
+            pending.put(key, waiting);
+        }
+
+        DECODER.execute(() -> {
+            BufferedImage image = null;
+            try {
+                image = loadThumbnail(url, key, width, height);
+            } catch (Exception e) {
+                synchronized (ImageCache.class) {
+                    failedUntil.put(key, System.currentTimeMillis() + RETRY_FAILED_AFTER_MS);
+                }
+                System.err.println("Failed to load image " + url + ": " + e.getMessage());
+            }
+
+            BufferedImage result = image;
+            List<Consumer<BufferedImage>> callbacks;
+            synchronized (ImageCache.class) {
+                if (result != null) {
+                    put(key, result);
+                }
+                callbacks = pending.remove(key);
+            }
+
+            if (result != null && callbacks != null) {
+                SwingUtilities.invokeLater(() -> callbacks.forEach(c -> c.accept(result)));
+            }
+        });
+    }
+
+    private static BufferedImage loadThumbnail(String url, String key, int width, int height) throws IOException {
+        Path pregenerated = ImageStore.findThumbnail(url, width, height);
+        if (pregenerated != null) {
+            BufferedImage image = ImageIO.read(pregenerated.toFile());
+            if (image != null) {
+                return image;
+            }
+        }
+
+        Path diskFile = DISK_CACHE_DIR.resolve(hash(key) + ".jpg");
+        if (Files.exists(diskFile)) {
+            BufferedImage image = ImageIO.read(diskFile.toFile());
+            if (image != null) {
+                return image;
+            }
+        }
+
+        BufferedImage thumbnail;
+        try (InputStream in = fetcher.open(url)) {
+            thumbnail = scaleToFill(decode(in, width, height), width, height);
+        }
+
+        Files.createDirectories(DISK_CACHE_DIR);
+        Path tmp = Files.createTempFile(DISK_CACHE_DIR, "thumb", ".tmp");
+        ImageIO.write(thumbnail, "jpg", tmp.toFile());
+        Files.move(tmp, diskFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return thumbnail;
+    }
+
+    static BufferedImage decode(InputStream in, int width, int height) throws IOException {
+        try (ImageInputStream iis = ImageIO.createImageInputStream(in)) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(iis);
+            if (!readers.hasNext()) {
+                throw new IOException("Unsupported image format");
+            }
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(iis, true, true);
+                int sourceWidth = reader.getWidth(0);
+                int sourceHeight = reader.getHeight(0);
+
+                // Skip pixels while decoding rather than decoding the full photo and throwing most of it away.
+                int subsampling = Math.max(1, Math.min(sourceWidth / width, sourceHeight / height));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    static BufferedImage scaleToFill(BufferedImage source, int width, int height) {
+        double scale = Math.max((double) width / source.getWidth(), (double) height / source.getHeight());
+        int scaledWidth = (int) Math.ceil(source.getWidth() * scale);
+        int scaledHeight = (int) Math.ceil(source.getHeight() * scale);
+
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2d = target.createGraphics();
+        g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        g2d.setColor(Color.WHITE);
+        g2d.fillRect(0, 0, width, height);
+        g2d.drawImage(source, (width - scaledWidth) / 2, (height - scaledHeight) / 2, scaledWidth, scaledHeight,
+                null);
+        g2d.dispose();
+        return target;
+    }
+
+    private static void put(String key, BufferedImage image) {
+        BufferedImage previous = memory.put(key, image);
+        if (previous != null) {
+            memoryBytes -= sizeOf(previous);
+        }
+        memoryBytes += sizeOf(image);
+
+        Iterator<BufferedImage> it = memory.values().iterator();
+        while (memoryBytes > MAX_MEMORY_BYTES && it.hasNext()) {
+            BufferedImage evicted = it.next();
+            if (evicted == image) {
+                break;
+            }
+            memoryBytes -= sizeOf(evicted);
+            it.remove();
+        }
+    }
+
+    private static long sizeOf(BufferedImage image) {
+        return (long) image.getWidth() * image.getHeight() * 4;
+    }
+
+    private static String key(String url, int width, int height) {
+        return url + "@" + width + "x" + height;
+    }
+
+    static String hash(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-1").digest(value.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,220 @@
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.*;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+class ImageAsset {
+    private final String hash;
+    private final String path;
+    private final int width;
+    private final int height;
+    private final long bytes;
+
+    public ImageAsset(String hash, String path, int width, int height, long bytes) {
+        this.hash = hash;
+        this.path = path;
+        this.width = width;
+        this.height = height;
+        this.bytes = bytes;
+    }
+
+    public String getHash() {
+        return hash;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public long getBytes() {
+        return bytes;
+    }
+}
+
+class ImageStore {
+    enum Variant {
+        CARD(350, 250),
+        ROW(120, 120),
+        DETAIL(700, 500);
+
+        final int width;
+        final int height;
+
+        Variant(int width, int height) {
+            this.width = width;
+            this.height = height;
+        }
+    }
+
+    private static final Path IMAGES_DIR = Paths.get("images");
+    private static final Path THUMBS_DIR = IMAGES_DIR.resolve("thumbs");
+    private static final Pattern ASSET_PATH = Pattern.compile("images/([0-9a-f]{64})\\.\\w+");
+    private static final float JPEG_QUALITY = 0.8f;
+
+    private ImageStore() {
+    }
+
+    public static ImageAsset ingest(Path source) throws IOException {
+        Files.createDirectories(THUMBS_DIR);
+
+        String name = source.getFileName().toString();
+        Path tmp = Files.createTempFile(IMAGES_DIR, "ingest", ".tmp");
+        String hash;
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            try (InputStream in = new DigestInputStream(Files.newInputStream(source), digest)) {
+                Files.copy(in, tmp, StandardCopyOption.REPLACE_EXISTING);
+            }
+            hash = HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            Files.deleteIfExists(tmp);
+            throw new IllegalStateException(e);
+        }
+
+        // Decoded before it is moved into place, so a file that is not an image never becomes a
+        // content-addressed original with no image_assets row pointing at it. The extension comes
+        // from the format that decoded it, not the upload's name, so the same bytes always end up
+        // at the same path whatever they were called.
+        BufferedImage decoded;
+        String extension;
+        try (ImageInputStream in = ImageIO.createImageInputStream(tmp.toFile())) {
+            Iterator<ImageReader> readers = in == null ? Collections.emptyIterator() : ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) {
+                throw new IOException("Unsupported image format: " + name);
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                decoded = reader.read(0);
+                extension = extension(reader.getFormatName());
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+
+        Path original = IMAGES_DIR.resolve(hash + extension);
+        if (Files.exists(original)) {
+            Files.delete(tmp);
+        } else {
+            try {
+                Files.move(tmp, original, StandardCopyOption.ATOMIC_MOVE);
+            } catch (FileAlreadyExistsException e) {
+                Files.delete(tmp);
+            }
+        }
+
+        for (Variant variant : Variant.values()) {
+            Path thumbnail = thumbnailPath(hash, variant);
+            if (!Files.exists(thumbnail)) {
+                writeJpeg(ImageCache.scaleToFill(decoded, variant.width, variant.height), thumbnail);
+            }
+        }
+
+        return new ImageAsset(hash, "images/" + hash + extension, decoded.getWidth(), decoded.getHeight(),
+                Files.size(original));
+    }
+
+    private static String extension(String formatName) {
+        String format = formatName.toLowerCase(Locale.ROOT);
+        return format.equals("jpeg") ? ".jpg" : "." + format;
+    }
+
+    public static void register(Connection conn, ImageAsset asset) throws SQLException {
+        String sql = "INSERT OR IGNORE INTO image_assets (hash, path, width, height, bytes) VALUES (?, ?, ?, ?, ?)";
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setString(1, asset.getHash());
+            pstmt.setString(2, asset.getPath());
+            pstmt.setInt(3, asset.getWidth());
+            pstmt.setInt(4, asset.getHeight());
+            pstmt.setLong(5, asset.getBytes());
+            pstmt.executeUpdate();
+        }
+    }
+
+    public static void register(Connection conn, List<ImageAsset> assets) throws SQLException {
+        if (assets.isEmpty()) {
+            return;
+        }
+
+        String sql = "INSERT OR IGNORE INTO image_assets (hash, path, width, height, bytes) VALUES (?, ?, ?, ?, ?)";
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            for (ImageAsset asset : assets) {
+                pstmt.setString(1, asset.getHash());
+                pstmt.setString(2, asset.getPath());
+                pstmt.setInt(3, asset.getWidth());
+                pstmt.setInt(4, asset.getHeight());
+                pstmt.setLong(5, asset.getBytes());
+                pstmt.addBatch();
+            }
+            pstmt.executeBatch();
+        }
+    }
+
+    // Returns the pre-generated thumbnail for a content-addressed image path when one
+    // exists at exactly the requested size, or null for legacy and remote images.
+    public static Path findThumbnail(String imageUrl, int width, int height) {
+        Matcher matcher = ASSET_PATH.matcher(imageUrl);
+        if (!matcher.matches()) {
+            return null;
+        }
+
+        for (Variant variant : Variant.values()) {
+            if (variant.width == width && variant.height == height) {
+                Path thumbnail = thumbnailPath(matcher.group(1), variant);
+                return Files.exists(thumbnail) ? thumbnail : null;
+            }
+        }
+        return null;
+    }
+
+    private static Path thumbnailPath(String hash, Variant variant) {
+        return THUMBS_DIR.resolve(hash + "-" + variant.name().toLowerCase(Locale.ROOT) + ".jpg");
+    }
+
+    private static void writeJpeg(BufferedImage image, Path target) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpg").next();
+        Path tmp = Files.createTempFile(THUMBS_DIR, "thumb", ".tmp");
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(tmp.toFile())) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(JPEG_QUALITY);
+            param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+            writer.setOutput(out);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
@@ -1,6 +1,8 @@
 import javax.swing.*;
 import java.awt.*;
 import java.sql.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
 
 class LoginPanel extends JPanel {
     private static final Color BACKGROUND_COLOR = new Color(245, 247, 250);
@@ -115,31 +117,15 @@ class LoginPanel extends JPanel {
 
     private void login() {
         String username = usernameField.getText().trim();
-        String password = new String(passwordField.getPassword());
+        char[] password = passwordField.getPassword();
 
-        if (username.isEmpty() || password.isEmpty()) {
+        if (username.isEmpty() || password.length == 0) {
             JOptionPane.showMessageDialog(this, "Please fill in all fields", "Error", JOptionPane.ERROR_MESSAGE);
             return;
         }
 
-        try (Connection conn = DatabaseManager.getConnection()) {
-            String sql = "SELECT * FROM users WHERE username = ? AND password = ?";
-            PreparedStatement pstmt = conn.prepareStatement(sql);
-            pstmt.setString(1, username);
-            pstmt.setString(2, password);
-
-            ResultSet rs = pstmt.executeQuery();
-
-            if (rs.next()) {
-                User user = new User(
-                        rs.getInt("id"),
-                        rs.getString("username"),
-                        rs.getString("email"),
-                        rs.getString("full_name"),
-                        rs.getString("phone_number"),
-                        rs.getString("address"),
-                        rs.getInt("is_admin") == 1);
-
+        DbExecutor.deliver(AuthService.login(username, password), user -> {
+            if (user != null) {
                 mainFrame.setCurrentUser(user);
                 JOptionPane.showMessageDialog(this, "Login successful!", "Success", JOptionPane.INFORMATION_MESSAGE);
 
@@ -148,11 +134,16 @@ class LoginPanel extends JPanel {
             } else {
                 JOptionPane.showMessageDialog(this, "Invalid credentials", "Error", JOptionPane.ERROR_MESSAGE);
             }
-        } catch (SQLException e) {
+        }, e -> {
+            if (e instanceof RejectedExecutionException) {
+                JOptionPane.showMessageDialog(this, "Too many sign-ins at once. Please try again in a moment.",
+                        "Busy", JOptionPane.WARNING_MESSAGE);
+                return;
+            }
             e.printStackTrace();
             JOptionPane.showMessageDialog(this, "Database error: " + e.getMessage(), "Error",
                     JOptionPane.ERROR_MESSAGE);
-        }
+        });
     }
 }
 
@@ -272,50 +263,39 @@ class RegisterPanel extends JPanel {
 
     private void register() {
         String username = usernameField.getText().trim();
-        String password = new String(passwordField.getPassword());
+        char[] password = passwordField.getPassword();
         String email = emailField.getText().trim();
         String fullName = fullNameField.getText().trim();
         String phone = phoneField.getText().trim();
         String address = addressField.getText().trim();
 
-        if (username.isEmpty() || password.isEmpty() || email.isEmpty() ||
+        if (username.isEmpty() || password.length == 0 || email.isEmpty() ||
                 fullName.isEmpty() || phone.isEmpty() || address.isEmpty()) {
             JOptionPane.showMessageDialog(this, "Please fill in all fields", "Error", JOptionPane.ERROR_MESSAGE);
             return;
         }
 
-        try (Connection conn = DatabaseManager.getConnection()) {
-            String sql = "INSERT INTO users (username, password, email, full_name, phone_number, address) VALUES (?, ?, ?, ?, ?, ?)";
-            PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
-            pstmt.setString(1, username);
-            pstmt.setString(2, password);
-            pstmt.setString(3, email);
-            pstmt.setString(4, fullName);
-            pstmt.setString(5, phone);
-            pstmt.setString(6, address);
-
-            int affected = pstmt.executeUpdate();
-
-            if (affected > 0) {
-                ResultSet rs = pstmt.getGeneratedKeys();
-                if (rs.next()) {
-                    int userId = rs.getInt(1);
-                    User user = new User(userId, username, email, fullName, phone, address, false);
-                    mainFrame.setCurrentUser(user);
-                    JOptionPane.showMessageDialog(this, "Registration successful!", "Success",
-                            JOptionPane.INFORMATION_MESSAGE);
-                    clearForm();
-                }
+        CompletableFuture<User> registration = AuthService.register(username, password, email, fullName, phone,
+                address);
+        DbExecutor.deliver(registration, user -> {
+            if (user != null) {
+                mainFrame.setCurrentUser(user);
+                JOptionPane.showMessageDialog(this, "Registration successful!", "Success",
+                        JOptionPane.INFORMATION_MESSAGE);
+                clearForm();
             }
-        } catch (SQLException e) {
-            if (e.getMessage().contains("UNIQUE constraint failed")) {
+        }, e -> {
+            if (e.getMessage() != null && e.getMessage().contains("UNIQUE constraint failed")) {
                 JOptionPane.showMessageDialog(this, "Username already exists", "Error", JOptionPane.ERROR_MESSAGE);
+            } else if (e instanceof RejectedExecutionException) {
+                JOptionPane.showMessageDialog(this, "Too many sign-ins at once. Please try again in a moment.",
+                        "Busy", JOptionPane.WARNING_MESSAGE);
             } else {
                 e.printStackTrace();
                 JOptionPane.showMessageDialog(this, "Database error: " + e.getMessage(), "Error",
                         JOptionPane.ERROR_MESSAGE);
             }
-        }
+        });
     }
 
     private void clearForm() {
@@ -330,142 +310,91 @@ class RegisterPanel extends JPanel {
 
 class BrowsePetsPanel extends JPanel {
     private static final Color BACKGROUND_COLOR = new Color(245, 247, 250);
-    private static final Color PRIMARY_COLOR = new Color(102, 126, 234);
     private static final Color TEXT_COLOR = new Color(30, 60, 114);
+    private static final int SEARCH_DELAY_MS = 250;
 
     private final MainFrame mainFrame;
-    private final JPanel petsGridPanel;
+    private final PetGrid petGrid;
+    private final FacetPanel facetPanel;
+    private final JTextField searchField;
+    private final Timer searchTimer;
 
     public BrowsePetsPanel(MainFrame mainFrame) {
         this.mainFrame = mainFrame;
         setLayout(new BorderLayout());
         setBackground(BACKGROUND_COLOR);
 
+        JPanel headerPanel = new JPanel(new BorderLayout());
+        headerPanel.setBackground(BACKGROUND_COLOR);
+
         JLabel titleLabel = new JLabel("Available Pets for Adoption");
         titleLabel.setFont(new Font("Segoe UI", Font.BOLD, 36));
         titleLabel.setForeground(TEXT_COLOR);
         titleLabel.setHorizontalAlignment(SwingConstants.CENTER);
-        titleLabel.setBorder(BorderFactory.createEmptyBorder(20, 0, 20, 0));
-        add(titleLabel, BorderLayout.NORTH);
+        titleLabel.setBorder(BorderFactory.createEmptyBorder(20, 0, 10, 0));
+        headerPanel.add(titleLabel, BorderLayout.NORTH);
 
-        petsGridPanel = new JPanel(new GridLayout(0, 3, 20, 20));
-        petsGridPanel.setBackground(BACKGROUND_COLOR);
-        petsGridPanel.setBorder(BorderFactory.createEmptyBorder(20, 20, 20, 20));
+        JPanel searchPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 10, 0));
+        searchPanel.setBackground(BACKGROUND_COLOR);
+        searchPanel.setBorder(BorderFactory.createEmptyBorder(0, 0, 10, 0));
 
-        JScrollPane scrollPane = new JScrollPane(petsGridPanel);
-        scrollPane.setBorder(null);
-        scrollPane.getVerticalScrollBar().setUnitIncrement(16);
-        add(scrollPane, BorderLayout.CENTER);
+        JLabel searchLabel = new JLabel("Search:");
+        searchLabel.setFont(new Font("Segoe UI", Font.BOLD, 14));
+        searchPanel.add(searchLabel);
 
-        refreshPets();
-    }
+        searchField = new JTextField(30);
+        searchField.setFont(new Font("Segoe UI", Font.PLAIN, 14));
+        searchField.setToolTipText("Name, species, breed, color or description");
+        searchPanel.add(searchField);
+        headerPanel.add(searchPanel, BorderLayout.SOUTH);
 
-    public void refreshPets() {
-        petsGridPanel.removeAll();
-
-        try (Connection conn = DatabaseManager.getConnection();
-                Statement stmt = conn.createStatement();
-                ResultSet rs = stmt.executeQuery("SELECT * FROM pets WHERE status = 'AVAILABLE'")) {
-
-            while (rs.next()) {
-                Pet pet = new Pet(
-                        rs.getInt("id"),
-                        rs.getString("name"),
-                        rs.getString("species"),
-                        rs.getString("breed"),
-                        rs.getInt("age"),
-                        rs.getString("gender"),
-                        rs.getString("size"),
-                        rs.getString("color"),
-                        rs.getString("description"),
-                        rs.getString("image_url"),
-                        rs.getString("status"));
-
-                petsGridPanel.add(createPetCard(pet));
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-
-        petsGridPanel.revalidate();
-        petsGridPanel.repaint();
-    }
-
-    private JPanel createPetCard(Pet pet) {
-        JPanel card = new JPanel(new BorderLayout());
-        card.setBackground(Color.WHITE);
-        card.setBorder(BorderFactory.createCompoundBorder(
-                BorderFactory.createLineBorder(new Color(200, 200, 200), 1),
-                BorderFactory.createEmptyBorder(0, 0, 15, 0)));
-        card.setPreferredSize(new Dimension(350, 500));
-
-        JLabel imageLabel = new JLabel("PET", SwingConstants.CENTER);
-        imageLabel.setFont(new Font("Segoe UI", Font.BOLD, 60));
-        imageLabel.setPreferredSize(new Dimension(350, 250));
-        imageLabel.setOpaque(true);
-        imageLabel.setBackground(new Color(230, 235, 245));
-        card.add(imageLabel, BorderLayout.NORTH);
-
-        card.add(createInfoPanel(pet), BorderLayout.CENTER);
+        add(headerPanel, BorderLayout.NORTH);
 
-        return card;
-    }
-
-    private JPanel createInfoPanel(Pet pet) {
-        JPanel infoPanel = new JPanel();
-        infoPanel.setLayout(new BoxLayout(infoPanel, BoxLayout.Y_AXIS));
-        infoPanel.setBackground(Color.WHITE);
-        infoPanel.setBorder(BorderFactory.createEmptyBorder(15, 15, 0, 15));
-
-        JLabel nameLabel = new JLabel(pet.getName());
-        nameLabel.setFont(new Font("Segoe UI", Font.BOLD, 24));
-        nameLabel.setForeground(TEXT_COLOR);
-        infoPanel.add(nameLabel);
+        petGrid = new PetGrid("browse.pets", this::adoptPet);
 
-        infoPanel.add(Box.createRigidArea(new Dimension(0, 10)));
-
-        JPanel detailsGrid = new JPanel(new GridLayout(2, 2, 10, 10));
-        detailsGrid.setBackground(Color.WHITE);
-        detailsGrid.add(createDetailLabel(pet.getSpecies()));
-        detailsGrid.add(createDetailLabel(pet.getAge() + " years"));
-        detailsGrid.add(createDetailLabel(pet.getGender()));
-        detailsGrid.add(createDetailLabel(pet.getSize()));
-        infoPanel.add(detailsGrid);
+        JScrollPane scrollPane = new JScrollPane(petGrid);
+        scrollPane.setBorder(null);
+        scrollPane.getVerticalScrollBar().setUnitIncrement(16);
+        add(scrollPane, BorderLayout.CENTER);
 
-        infoPanel.add(Box.createRigidArea(new Dimension(0, 10)));
+        facetPanel = new FacetPanel(this::refreshPets);
 
-        JTextArea descArea = new JTextArea(pet.getDescription());
-        descArea.setFont(new Font("Segoe UI", Font.PLAIN, 13));
-        descArea.setLineWrap(true);
-        descArea.setWrapStyleWord(true);
-        descArea.setEditable(false);
-        descArea.setBackground(Color.WHITE);
-        descArea.setRows(3);
-        infoPanel.add(descArea);
+        JScrollPane facetScrollPane = new JScrollPane(facetPanel);
+        facetScrollPane.setBorder(null);
+        facetScrollPane.setPreferredSize(new Dimension(220, 0));
+        facetScrollPane.getVerticalScrollBar().setUnitIncrement(16);
+        add(facetScrollPane, BorderLayout.WEST);
 
-        infoPanel.add(Box.createRigidArea(new Dimension(0, 10)));
+        searchTimer = new Timer(SEARCH_DELAY_MS, e -> refreshPets());
+        searchTimer.setRepeats(false);
+        searchField.getDocument().addDocumentListener(new javax.swing.event.DocumentListener() {
+            public void insertUpdate(javax.swing.event.DocumentEvent e) {
+                searchTimer.restart();
+            }
 
-        JButton adoptBtn = new JButton("Adopt " + pet.getName());
-        adoptBtn.setFont(new Font("Segoe UI", Font.BOLD, 14));
-        adoptBtn.setBackground(PRIMARY_COLOR);
-        adoptBtn.setForeground(Color.WHITE);
-        adoptBtn.setFocusPainted(false);
-        adoptBtn.setBorderPainted(false);
-        adoptBtn.setOpaque(true);
-        adoptBtn.setCursor(new Cursor(Cursor.HAND_CURSOR));
-        adoptBtn.addActionListener(e -> adoptPet(pet));
-        infoPanel.add(adoptBtn);
+            public void removeUpdate(javax.swing.event.DocumentEvent e) {
+                searchTimer.restart();
+            }
 
-        return infoPanel;
+            public void changedUpdate(javax.swing.event.DocumentEvent e) {
+                searchTimer.restart();
+            }
+        });
     }
 
-    private JLabel createDetailLabel(String text) {
-        JLabel label = new JLabel(text);
-        label.setFont(new Font("Segoe UI", Font.BOLD, 12));
-        label.setBackground(new Color(248, 249, 250));
-        label.setOpaque(true);
-        label.setBorder(BorderFactory.createEmptyBorder(8, 10, 8, 10));
-        return label;
+    public void refreshPets() {
+        searchTimer.stop();
+        PetFilter filter = new PetFilter(searchField.getText(), facetPanel.getSelection());
+
+        if (filter.hasQuery()) {
+            petGrid.reset((last, offset, limit) -> PetRepository.search(filter, offset, limit));
+        } else {
+            petGrid.reset((last, offset, limit) -> PetRepository.loadAvailablePage(filter,
+                    last == null ? 0 : last.getId(), limit));
+        }
+
+        DbExecutor.submit("browse.facets", () -> PetRepository.loadFacetCounts(filter), facetPanel::setCounts,
+                Exception::printStackTrace);
     }
 
     private void adoptPet(Pet pet) {
@@ -484,42 +413,38 @@ class BrowsePetsPanel extends JPanel {
         if (notes == null)
             return;
 
-        try (Connection conn = DatabaseManager.getConnection()) {
-            String sql = "INSERT INTO adoptions (user_id, pet_id, notes) VALUES (?, ?, ?)";
-            PreparedStatement pstmt = conn.prepareStatement(sql);
-            pstmt.setInt(1, mainFrame.getCurrentUser().getId());
-            pstmt.setInt(2, pet.getId());
-            pstmt.setString(3, notes);
-
-            int affected = pstmt.executeUpdate();
-
-            if (affected > 0) {
-                String updateSql = "UPDATE pets SET status = 'ADOPTED' WHERE id = ?";
-                PreparedStatement updateStmt = conn.prepareStatement(updateSql);
-                updateStmt.setInt(1, pet.getId());
-                updateStmt.executeUpdate();
-
+        int userId = mainFrame.getCurrentUser().getId();
+        DbExecutor.deliver(AdoptionService.adopt(userId, pet.getId(), notes), adopted -> {
+            if (adopted) {
                 JOptionPane.showMessageDialog(this,
                         "Adoption successful!\n\nPet: " + pet.getName() + "\nStatus: PENDING",
                         "Success",
                         JOptionPane.INFORMATION_MESSAGE);
-
-                refreshPets();
+            } else {
+                JOptionPane.showMessageDialog(this,
+                        "Sorry, " + pet.getName() + " has already been adopted by someone else.",
+                        "No Longer Available",
+                        JOptionPane.WARNING_MESSAGE);
             }
-        } catch (SQLException e) {
+            refreshPets();
+        }, e -> {
             e.printStackTrace();
             JOptionPane.showMessageDialog(this, "Failed to submit adoption: " + e.getMessage(), "Error",
                     JOptionPane.ERROR_MESSAGE);
-        }
+        });
     }
 }
 
 class MyAdoptionsPanel extends JPanel {
     private static final Color BACKGROUND_COLOR = new Color(245, 247, 250);
     private static final Color TEXT_COLOR = new Color(30, 60, 114);
+    private static final int THUMBNAIL_SIZE = 120;
 
     private final MainFrame mainFrame;
     private final JPanel adoptionsListPanel;
+    private Session shownSession;
+    private java.util.List<Adoption> shownAdoptions;
+    private java.util.Map<Adoption, JPanel> cards = new java.util.IdentityHashMap<>();
 
     public MyAdoptionsPanel(MainFrame mainFrame) {
         this.mainFrame = mainFrame;
@@ -544,40 +469,59 @@ class MyAdoptionsPanel extends JPanel {
         add(scrollPane, BorderLayout.CENTER);
     }
 
+    // The session keeps the list until one of this user's rows changes, so coming back to this
+    // page normally gets the same list back and the cards already shown are left alone; when it
+    // does change only the adoptions that were re-read get new cards.
     public void refreshAdoptions() {
-        adoptionsListPanel.removeAll();
-
-        if (mainFrame.getCurrentUser() == null) {
+        Session session = mainFrame.getSession();
+        if (session == null) {
+            shownSession = null;
+            shownAdoptions = null;
+            cards.clear();
+            adoptionsListPanel.removeAll();
             showMessage("Please login to view your adoptions");
             return;
         }
 
-        try (Connection conn = DatabaseManager.getConnection()) {
-            String sql = """
-                        SELECT a.*, p.*, a.id as adoption_id, a.status as adoption_status
-                        FROM adoptions a
-                        JOIN pets p ON a.pet_id = p.id
-                        WHERE a.user_id = ?
-                        ORDER BY a.adoption_date DESC
-                    """;
-
-            PreparedStatement pstmt = conn.prepareStatement(sql);
-            pstmt.setInt(1, mainFrame.getCurrentUser().getId());
-            ResultSet rs = pstmt.executeQuery();
-
-            boolean hasAdoptions = false;
-            while (rs.next()) {
-                hasAdoptions = true;
-                adoptionsListPanel.add(createAdoptionCard(rs));
-                adoptionsListPanel.add(Box.createRigidArea(new Dimension(0, 15)));
+        if (session != shownSession) {
+            shownSession = session;
+            shownAdoptions = null;
+            cards.clear();
+            adoptionsListPanel.removeAll();
+            showMessage("Loading adoptions...");
+        }
+        DbExecutor.submit("myAdoptions.list", session::getAdoptions, adoptions -> {
+            if (session == shownSession && adoptions != shownAdoptions) {
+                shownAdoptions = adoptions;
+                showAdoptions(adoptions);
             }
+        }, e -> {
+            e.printStackTrace();
+            shownAdoptions = null;
+            cards.clear();
+            adoptionsListPanel.removeAll();
+            showMessage("Failed to load adoptions: " + e.getMessage());
+        });
+    }
+
+    // Cards are kept per Adoption instance, which the session only replaces when the row changed.
+    private void showAdoptions(java.util.List<Adoption> adoptions) {
+        adoptionsListPanel.removeAll();
 
-            if (!hasAdoptions) {
-                showMessage("You haven't adopted any pets yet.");
+        java.util.Map<Adoption, JPanel> shown = new java.util.IdentityHashMap<>();
+        for (Adoption adoption : adoptions) {
+            JPanel card = cards.get(adoption);
+            if (card == null) {
+                card = createAdoptionCard(adoption);
             }
+            shown.put(adoption, card);
+            adoptionsListPanel.add(card);
+            adoptionsListPanel.add(Box.createRigidArea(new Dimension(0, 15)));
+        }
+        cards = shown;
 
-        } catch (SQLException e) {
-            e.printStackTrace();
+        if (adoptions.isEmpty()) {
+            showMessage("You haven't adopted any pets yet.");
         }
 
         adoptionsListPanel.revalidate();
@@ -594,7 +538,7 @@ class MyAdoptionsPanel extends JPanel {
         adoptionsListPanel.repaint();
     }
 
-    private JPanel createAdoptionCard(ResultSet rs) throws SQLException {
+    private JPanel createAdoptionCard(Adoption adoption) {
         JPanel adoptionCard = new JPanel(new BorderLayout(15, 0));
         adoptionCard.setBackground(Color.WHITE);
         adoptionCard.setBorder(BorderFactory.createCompoundBorder(
@@ -610,39 +554,46 @@ class MyAdoptionsPanel extends JPanel {
         imageLabel.setBackground(new Color(230, 235, 245));
         adoptionCard.add(imageLabel, BorderLayout.WEST);
 
-        adoptionCard.add(createAdoptionInfo(rs), BorderLayout.CENTER);
+        ImageCache.load(adoption.getPet().getImageUrl(), THUMBNAIL_SIZE, THUMBNAIL_SIZE, image -> {
+            imageLabel.setIcon(new ImageIcon(image));
+            imageLabel.setText(null);
+        });
+
+        adoptionCard.add(createAdoptionInfo(adoption), BorderLayout.CENTER);
 
         return adoptionCard;
     }
 
-    private JPanel createAdoptionInfo(ResultSet rs) throws SQLException {
+    private JPanel createAdoptionInfo(Adoption adoption) {
+        Pet pet = adoption.getPet();
+
         JPanel infoPanel = new JPanel();
         infoPanel.setLayout(new BoxLayout(infoPanel, BoxLayout.Y_AXIS));
         infoPanel.setBackground(Color.WHITE);
 
-        JLabel nameLabel = new JLabel(rs.getString("name"));
+        JLabel nameLabel = new JLabel(pet.getName());
         nameLabel.setFont(new Font("Segoe UI", Font.BOLD, 20));
         nameLabel.setForeground(TEXT_COLOR);
         infoPanel.add(nameLabel);
         infoPanel.add(Box.createRigidArea(new Dimension(0, 5)));
 
-        JLabel speciesLabel = new JLabel("Species: " + rs.getString("species") + " | Breed: " + rs.getString("breed"));
+        JLabel speciesLabel = new JLabel("Species: " + pet.getSpecies() + " | Breed: " + pet.getBreed());
         speciesLabel.setFont(new Font("Segoe UI", Font.PLAIN, 14));
         infoPanel.add(speciesLabel);
         infoPanel.add(Box.createRigidArea(new Dimension(0, 5)));
 
-        JLabel dateLabel = new JLabel("Adoption Date: " + rs.getString("adoption_date"));
+        JLabel dateLabel = new JLabel("Adoption Date: " + DatabaseManager.formatTimestamp(adoption.getAdoptionDate()));
         dateLabel.setFont(new Font("Segoe UI", Font.PLAIN, 14));
         infoPanel.add(dateLabel);
         infoPanel.add(Box.createRigidArea(new Dimension(0, 5)));
 
-        String notes = rs.getString("notes");
+        String notes = adoption.getNotes();
         JLabel notesLabel = new JLabel("Notes: " + (notes != null && !notes.isEmpty() ? notes : "No notes"));
         notesLabel.setFont(new Font("Segoe UI", Font.PLAIN, 14));
         infoPanel.add(notesLabel);
         infoPanel.add(Box.createRigidArea(new Dimension(0, 10)));
 
-        JLabel statusBadge = new JLabel(rs.getString("adoption_status"));
+        JLabel statusBadge = new JLabel(adoption.getStatus());
         statusBadge.setFont(new Font("Segoe UI", Font.BOLD, 12));
         statusBadge.setForeground(Color.WHITE);
         statusBadge.setOpaque(true);
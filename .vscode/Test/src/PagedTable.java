@@ -0,0 +1,253 @@
+import javax.swing.*;
+import javax.swing.event.*;
+import javax.swing.table.TableColumn;
+import javax.swing.table.TableColumnModel;
+import java.awt.*;
+import java.util.List;
+import java.util.function.Consumer;
+
+// A JTable over a TableSource whose header clicks and filter fields are turned into a new
+// TableQuery; nothing is ever sorted or filtered in memory.
+class PagedTable extends JTable {
+    private final TableSource source;
+    private final PagedTableModel pagedModel;
+    private final SqlRowSorter sorter;
+    private final FilterRow filterRow;
+    private final Runnable onCounted;
+    private final Consumer<Exception> onError;
+
+    public PagedTable(TableSource source, String taskKey, int sortColumn, SortOrder order, Runnable onCounted,
+            Consumer<Exception> onError) {
+        super(new PagedTableModel(source.labels(), taskKey));
+        this.source = source;
+        this.pagedModel = (PagedTableModel) getModel();
+        this.onCounted = onCounted;
+        this.onError = onError;
+
+        sorter = new SqlRowSorter(pagedModel, source, new RowSorter.SortKey(sortColumn, order),
+                () -> reload(true));
+        setRowSorter(sorter);
+        filterRow = new FilterRow(this, source, () -> reload(true));
+    }
+
+    public void refresh() {
+        reload(false);
+    }
+
+    public Object[] getRowValues(int row) {
+        return pagedModel.getRow(convertRowIndexToModel(row));
+    }
+
+    private void reload(boolean fromTop) {
+        RowSorter.SortKey key = sorter.getSortKeys().get(0);
+        TableQuery query = source.query(key.getColumn(), key.getSortOrder() == SortOrder.ASCENDING,
+                filterRow.getValues());
+
+        pagedModel.refresh(query, () -> {
+            if (fromTop) {
+                scrollRectToVisible(new Rectangle(0, 0, 1, 1));
+            }
+            onCounted.run();
+        }, onError);
+    }
+
+    // JTable puts its bare header into the scroll pane whenever it is added to one, so the
+    // filter row has to be installed here rather than by whoever builds the scroll pane.
+    @Override
+    protected void configureEnclosingScrollPane() {
+        super.configureEnclosingScrollPane();
+
+        JScrollPane scrollPane = (JScrollPane) SwingUtilities.getAncestorOfClass(JScrollPane.class, this);
+        if (scrollPane != null && scrollPane.getViewport().getView() == this) {
+            JPanel header = new JPanel(new BorderLayout());
+            header.add(getTableHeader(), BorderLayout.NORTH);
+            header.add(filterRow, BorderLayout.CENTER);
+            scrollPane.setColumnHeaderView(header);
+        }
+    }
+}
+
+// Keeps the sort keys for the header arrows and leaves row order to the query, so view and
+// model indexes are the same.
+class SqlRowSorter extends RowSorter<PagedTableModel> {
+    private final PagedTableModel model;
+    private final TableSource source;
+    private final Runnable onChange;
+    private List<SortKey> sortKeys;
+
+    public SqlRowSorter(PagedTableModel model, TableSource source, SortKey initial, Runnable onChange) {
+        this.model = model;
+        this.source = source;
+        this.onChange = onChange;
+        this.sortKeys = List.of(initial);
+    }
+
+    @Override
+    public PagedTableModel getModel() {
+        return model;
+    }
+
+    @Override
+    public void toggleSortOrder(int column) {
+        if (!source.getColumn(column).isSortable()) {
+            return;
+        }
+
+        SortKey current = sortKeys.get(0);
+        SortOrder order = current.getColumn() == column && current.getSortOrder() == SortOrder.ASCENDING
+                ? SortOrder.DESCENDING
+                : SortOrder.ASCENDING;
+        setSortKeys(List.of(new SortKey(column, order)));
+    }
+
+    @Override
+    public void setSortKeys(List<? extends SortKey> keys) {
+        if (keys == null || keys.isEmpty() || !source.getColumn(keys.get(0).getColumn()).isSortable()) {
+            return;
+        }
+
+        sortKeys = List.of(keys.get(0));
+        fireSortOrderChanged();
+        onChange.run();
+    }
+
+    @Override
+    public List<? extends SortKey> getSortKeys() {
+        return sortKeys;
+    }
+
+    @Override
+    public int convertRowIndexToModel(int index) {
+        return index;
+    }
+
+    @Override
+    public int convertRowIndexToView(int index) {
+        return index;
+    }
+
+    @Override
+    public int getViewRowCount() {
+        return model.getRowCount();
+    }
+
+    @Override
+    public int getModelRowCount() {
+        return model.getRowCount();
+    }
+
+    @Override
+    public void modelStructureChanged() {
+    }
+
+    @Override
+    public void allRowsChanged() {
+    }
+
+    @Override
+    public void rowsInserted(int firstRow, int endRow) {
+    }
+
+    @Override
+    public void rowsDeleted(int firstRow, int endRow) {
+    }
+
+    @Override
+    public void rowsUpdated(int firstRow, int endRow) {
+    }
+
+    @Override
+    public void rowsUpdated(int firstRow, int endRow, int column) {
+    }
+}
+
+// One text field under each column header, kept in line with the column widths. Typing is
+// debounced so a query runs once the user pauses rather than on every key.
+class FilterRow extends JPanel implements TableColumnModelListener {
+    private static final int DEBOUNCE_MS = 300;
+
+    private final JTable table;
+    private final JTextField[] fields;
+    private final Timer debounce;
+
+    public FilterRow(JTable table, TableSource source, Runnable onChange) {
+        super(null);
+        this.table = table;
+        setBackground(Color.WHITE);
+
+        debounce = new Timer(DEBOUNCE_MS, e -> onChange.run());
+        debounce.setRepeats(false);
+
+        DocumentListener listener = new DocumentListener() {
+            public void insertUpdate(DocumentEvent e) {
+                debounce.restart();
+            }
+
+            public void removeUpdate(DocumentEvent e) {
+                debounce.restart();
+            }
+
+            public void changedUpdate(DocumentEvent e) {
+            }
+        };
+
+        fields = new JTextField[source.getColumnCount()];
+        for (int i = 0; i < fields.length; i++) {
+            JTextField field = new JTextField();
+            field.setFont(new Font("Segoe UI", Font.PLAIN, 12));
+            switch (source.getColumn(i).getFilter()) {
+                case PREFIX, PREFIX_IGNORE_CASE -> field.setToolTipText("Starts with...");
+                case EQUALS -> field.setToolTipText("Equals...");
+                case NONE -> field.setEnabled(false);
+            }
+            field.getDocument().addDocumentListener(listener);
+            fields[i] = field;
+            add(field);
+        }
+
+        table.getColumnModel().addColumnModelListener(this);
+    }
+
+    public String[] getValues() {
+        String[] values = new String[fields.length];
+        for (int i = 0; i < fields.length; i++) {
+            values[i] = fields[i].getText();
+        }
+        return values;
+    }
+
+    @Override
+    public Dimension getPreferredSize() {
+        return new Dimension(table.getColumnModel().getTotalColumnWidth(), fields[0].getPreferredSize().height);
+    }
+
+    @Override
+    public void doLayout() {
+        TableColumnModel columns = table.getColumnModel();
+        int x = 0;
+        for (int i = 0; i < columns.getColumnCount(); i++) {
+            TableColumn column = columns.getColumn(i);
+            fields[column.getModelIndex()].setBounds(x, 0, column.getWidth(), getHeight());
+            x += column.getWidth();
+        }
+    }
+
+    public void columnMarginChanged(ChangeEvent e) {
+        revalidate();
+        repaint();
+    }
+
+    public void columnMoved(TableColumnModelEvent e) {
+        revalidate();
+        repaint();
+    }
+
+    public void columnAdded(TableColumnModelEvent e) {
+    }
+
+    public void columnRemoved(TableColumnModelEvent e) {
+    }
+
+    public void columnSelectionChanged(ListSelectionEvent e) {
+    }
+}
@@ -0,0 +1,126 @@
+import javax.swing.table.AbstractTableModel;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.List;
+
+interface BlockLoader {
+    int count() throws SQLException;
+
+    // previous is the last row of the block before, when it is loaded, so the loader can seek
+    // past it instead of counting rows from the start.
+    List<Object[]> loadBlock(int offset, int limit, Object[] previous) throws SQLException;
+}
+
+// Holds only the row count and a few recently viewed blocks of rows. Cells of blocks that are
+// not loaded yet read as null and the block is fetched in the background; all state is touched
+// on the EDT only.
+class PagedTableModel extends AbstractTableModel {
+    static final int BLOCK_SIZE = 200;
+    private static final int MAX_BLOCKS = 20;
+    private static final int PREFETCH_DISTANCE = 2;
+
+    private final String[] columns;
+    private final String taskKey;
+    private final Map<Integer, List<Object[]>> blocks = new LinkedHashMap<>(32, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, List<Object[]>> eldest) {
+            return size() > MAX_BLOCKS;
+        }
+    };
+    private final Set<Integer> loading = new HashSet<>();
+
+    private BlockLoader loader;
+    private int rowCount;
+    private int generation;
+    private volatile int wantedBlock;
+
+    public PagedTableModel(String[] columns, String taskKey) {
+        this.columns = columns;
+        this.taskKey = taskKey;
+    }
+
+    // The rows already shown stay in place until the new count arrives, so refreshing after
+    // an edit or a change of sort order does not blank the table.
+    public void refresh(BlockLoader blockLoader, Runnable onCounted, java.util.function.Consumer<Exception> onError) {
+        DbExecutor.submit(taskKey + ".count", blockLoader::count, count -> {
+            loader = blockLoader;
+            generation++;
+            blocks.clear();
+            loading.clear();
+            rowCount = count;
+            fireTableDataChanged();
+            onCounted.run();
+        }, onError);
+    }
+
+    @Override
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columns.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return columns[column];
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        Object[] values = getRow(row);
+        return values == null ? null : values[column];
+    }
+
+    public Object[] getRow(int row) {
+        int block = row / BLOCK_SIZE;
+        List<Object[]> rows = blocks.get(block);
+        if (rows == null) {
+            requestBlock(block);
+            return null;
+        }
+
+        int index = row % BLOCK_SIZE;
+        return index < rows.size() ? rows.get(index) : null;
+    }
+
+    // Dragging the scrollbar asks for every block it passes over; a queued block that is no
+    // longer near the most recent request is dropped before it reaches the database.
+    private void requestBlock(int block) {
+        wantedBlock = block;
+        if (!loading.add(block)) {
+            return;
+        }
+
+        int gen = generation;
+        BlockLoader blockLoader = loader;
+        List<Object[]> before = blocks.get(block - 1);
+        Object[] previous = before == null || before.isEmpty() ? null : before.get(before.size() - 1);
+        DbExecutor.submit(taskKey + ".block" + block, () -> {
+            if (Math.abs(block - wantedBlock) > PREFETCH_DISTANCE) {
+                return null;
+            }
+            return blockLoader.loadBlock(block * BLOCK_SIZE, BLOCK_SIZE, previous);
+        }, rows -> {
+            if (gen != generation) {
+                return;
+            }
+            loading.remove(block);
+            if (rows == null) {
+                return;
+            }
+
+            blocks.put(block, rows);
+            int first = block * BLOCK_SIZE;
+            int last = Math.min(rowCount, first + BLOCK_SIZE) - 1;
+            if (first <= last) {
+                fireTableRowsUpdated(first, last);
+            }
+        }, e -> {
+            loading.remove(block);
+            e.printStackTrace();
+        });
+    }
+}
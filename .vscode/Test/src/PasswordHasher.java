@@ -0,0 +1,136 @@
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Base64;
+
+// Hashes are stored as pbkdf2-sha256$<iterations>$<salt>$<hash>, so the cost can be raised later
+// without invalidating existing rows; anything else in the password column is a legacy plaintext.
+class PasswordHasher {
+    private static final String ALGORITHM = "PBKDF2WithHmacSHA256";
+    private static final String PREFIX = "pbkdf2-sha256";
+    private static final int SALT_BYTES = 16;
+    private static final int HASH_BITS = 256;
+
+    // Tune with -Dauth.iterations=...; run this class to see what each setting costs on this machine.
+    static final int ITERATIONS = Integer.getInteger("auth.iterations", 600_000);
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private PasswordHasher() {
+    }
+
+    public static String hash(char[] password) {
+        return hash(password, ITERATIONS);
+    }
+
+    static String hash(char[] password, int iterations) {
+        byte[] salt = new byte[SALT_BYTES];
+        RANDOM.nextBytes(salt);
+
+        Base64.Encoder base64 = Base64.getEncoder().withoutPadding();
+        return PREFIX + "$" + iterations + "$" + base64.encodeToString(salt) + "$"
+                + base64.encodeToString(derive(password, salt, iterations));
+    }
+
+    public static boolean verify(char[] password, String stored) {
+        if (stored == null) {
+            return false;
+        }
+        if (!isHashed(stored)) {
+            return MessageDigest.isEqual(toBytes(password), stored.getBytes(StandardCharsets.UTF_8));
+        }
+
+        String[] parts = stored.split("\\$");
+        if (parts.length != 4) {
+            return false;
+        }
+
+        // A damaged row is a failed sign-in, not an error for the caller. NumberFormatException
+        // is an IllegalArgumentException, as are bad Base64 and an empty salt or zero iterations.
+        try {
+            Base64.Decoder base64 = Base64.getDecoder();
+            byte[] expected = base64.decode(parts[3]);
+            byte[] actual = derive(password, base64.decode(parts[2]), Integer.parseInt(parts[1]));
+            return MessageDigest.isEqual(expected, actual);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    // True for plaintext rows and for hashes made with fewer iterations than are configured now.
+    public static boolean needsRehash(String stored) {
+        if (!isHashed(stored)) {
+            return true;
+        }
+        String[] parts = stored.split("\\$");
+        try {
+            return parts.length != 4 || Integer.parseInt(parts[1]) < ITERATIONS;
+        } catch (NumberFormatException e) {
+            return true;
+        }
+    }
+
+    private static boolean isHashed(String stored) {
+        return stored.startsWith(PREFIX + "$");
+    }
+
+    private static byte[] derive(char[] password, byte[] salt, int iterations) {
+        PBEKeySpec spec = new PBEKeySpec(password, salt, iterations, HASH_BITS);
+        try {
+            return SecretKeyFactory.getInstance(ALGORITHM).generateSecret(spec).getEncoded();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(ALGORITHM + " is not available", e);
+        } finally {
+            spec.clearPassword();
+        }
+    }
+
+    private static byte[] toBytes(char[] password) {
+        var buffer = StandardCharsets.UTF_8.encode(CharBuffer.wrap(password));
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        Arrays.fill(buffer.array(), (byte) 0);
+        return bytes;
+    }
+
+    // Prints the time of one hash at several costs, then how long logins take when many arrive
+    // at once on the auth pool, so ITERATIONS can be picked for the hardware it runs on.
+    public static void main(String[] args) throws Exception {
+        char[] password = "correct horse battery staple".toCharArray();
+        int[] costs = args.length > 0
+                ? Arrays.stream(args).mapToInt(Integer::parseInt).toArray()
+                : new int[] { 100_000, 210_000, 310_000, 600_000, 1_000_000 };
+
+        for (int i = 0; i < 3; i++) {
+            hash(password, 100_000);
+        }
+
+        System.out.println("iterations    ms/hash");
+        for (int cost : costs) {
+            int rounds = 5;
+            long start = System.nanoTime();
+            for (int i = 0; i < rounds; i++) {
+                hash(password, cost);
+            }
+            System.out.printf("%,10d %10.1f%n", cost, (System.nanoTime() - start) / 1e6 / rounds);
+        }
+
+        int logins = AuthService.THREADS * 4;
+        String stored = hash(password);
+        java.util.List<java.util.concurrent.CompletableFuture<Long>> timings = new java.util.ArrayList<>();
+        for (int i = 0; i < logins; i++) {
+            long submitted = System.nanoTime();
+            timings.add(AuthService.verifyAsync(password.clone(), stored)
+                    .thenApply(ok -> (System.nanoTime() - submitted) / 1_000_000));
+        }
+        long[] latencies = timings.stream().mapToLong(java.util.concurrent.CompletableFuture::join).sorted().toArray();
+        System.out.printf("%d concurrent logins at %,d iterations on %d auth threads: median %d ms, max %d ms%n",
+                logins, ITERATIONS, AuthService.THREADS, latencies[latencies.length / 2],
+                latencies[latencies.length - 1]);
+    }
+}
@@ -6,77 +6,167 @@ import java.sql.*;
 
 public class PetAdoptionSystem {
     public static void main(String[] args) {
+        if (args.length > 0 && args[0].equals("--server")) {
+            runServer(args.length > 1 ? Integer.parseInt(args[1]) : ApiServer.DEFAULT_PORT);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--load")) {
+            WorkloadDriver.main();
+            return;
+        }
+        if (args.length > 1 && args[0].equals("--import")) {
+            runImport(java.nio.file.Paths.get(args[1]));
+            return;
+        }
+
+        java.util.concurrent.CompletableFuture<Void> warmUp = Startup.warmUp();
         SwingUtilities.invokeLater(() -> {
             try {
                 UIManager.setLookAndFeel(UIManager.getSystemLookAndFeelClassName());
             } catch (Exception e) {
                 e.printStackTrace();
             }
-            DatabaseManager.initialize();
-            new SplashScreen();
+            new SplashScreen(warmUp);
         });
     }
+
+    // Headless bulk import, so import throughput can be timed on a copy of a database without the UI.
+    private static void runImport(java.nio.file.Path file) {
+        try {
+            Startup.warmUp().join();
+            ImportProgress result = new PetImporter(file).run(progress -> {
+            });
+            System.out.printf("Imported %d pets (%d rejected) in %d ms, %.0f records/s%n", result.getImported(),
+                    result.getRejected(), result.getElapsedMillis(), result.getRecordsPerSecond());
+            DatabaseManager.shutdown();
+        } catch (Exception e) {
+            e.printStackTrace();
+            System.exit(1);
+        }
+        System.exit(0);
+    }
+
+    // Headless: no Swing at all, just the JSON API over the shared connection pool.
+    private static void runServer(int port) {
+        try {
+            Startup.warmUp().join();
+        } catch (java.util.concurrent.CompletionException e) {
+            System.err.println("Failed to start: " + e.getCause().getMessage());
+            System.exit(1);
+        }
+        try {
+            ApiServer.start(port);
+            System.out.println("Serving the API on port " + port);
+        } catch (java.io.IOException e) {
+            e.printStackTrace();
+            System.exit(1);
+        }
+    }
+}
+
+interface Migration {
+    void apply(Connection conn, Statement stmt) throws SQLException;
 }
 
 class DatabaseManager {
-    private static final String DB_URL = "jdbc:sqlite:pet_adoption.db";
+    private static final String DB_URL = "jdbc:sqlite:" + System.getProperty("db.path", "pet_adoption.db");
+    private static final int READER_CONNECTIONS = 4;
+    private static final String TIMESTAMP_FORMAT = "yyyy-MM-dd HH:mm:ss";
+
+    private static final java.util.List<Migration> MIGRATIONS = java.util.List.of(
+            DatabaseManager::createBaseSchema,
+            DatabaseManager::addImageAssets,
+            DatabaseManager::addQueryIndexes,
+            DatabaseManager::addStatsCounters,
+            DatabaseManager::addPetSearchIndex,
+            DatabaseManager::addFacetIndex,
+            DatabaseManager::addSortIndexes,
+            DatabaseManager::addApprovalQueueIndex,
+            DatabaseManager::removeOrphanedAdoptions);
+
+    private static final ChangeTracker changeTracker = new ChangeTracker();
+    private static volatile ConnectionPool pool;
+    private static boolean shutDown;
+
+    private static ConnectionPool getPool() throws SQLException {
+        ConnectionPool current = pool;
+        if (current == null) {
+            synchronized (DatabaseManager.class) {
+                current = pool;
+                if (current == null) {
+                    current = new ConnectionPool(DB_URL, READER_CONNECTIONS, changeTracker);
+                    pool = current;
+                    Runtime.getRuntime().addShutdownHook(new Thread(DatabaseManager::shutdown));
+                }
+            }
+        }
+        return current;
+    }
 
     public static Connection getConnection() throws SQLException {
+        return getPool().getWriteConnection();
+    }
+
+    public static Connection getReadConnection() throws SQLException {
+        return getPool().getReadConnection();
+    }
+
+    public static boolean isBusy(SQLException e) {
+        return e instanceof org.sqlite.SQLiteException sqliteException
+                && (sqliteException.getResultCode().code & 0xff) == org.sqlite.SQLiteErrorCode.SQLITE_BUSY.code;
+    }
+
+    public static void addChangeListener(ChangeListener listener) {
+        changeTracker.addListener(listener);
+    }
+
+    public static void removeChangeListener(ChangeListener listener) {
+        changeTracker.removeListener(listener);
+    }
+
+    public static java.util.Date parseTimestamp(String value) {
+        if (value == null) {
+            return null;
+        }
         try {
-            Class.forName("org.sqlite.JDBC");
-        } catch (ClassNotFoundException e) {
-            throw new SQLException("SQLite JDBC driver not found", e);
+            return new java.text.SimpleDateFormat(TIMESTAMP_FORMAT).parse(value);
+        } catch (java.text.ParseException e) {
+            return null;
         }
-        return DriverManager.getConnection(DB_URL);
     }
 
-    public static void initialize() {
+    public static String formatTimestamp(java.util.Date date) {
+        return date == null ? "" : new java.text.SimpleDateFormat(TIMESTAMP_FORMAT).format(date);
+    }
+
+    // Runs from both an explicit call and the shutdown hook, so only the first call does anything.
+    public static void shutdown() {
+        synchronized (DatabaseManager.class) {
+            if (shutDown) {
+                return;
+            }
+            shutDown = true;
+        }
+
+        ConnectionPool current = pool;
+        if (current != null) {
+            WriteQueue.flush();
+            try (Connection conn = current.getWriteConnection();
+                    Statement stmt = conn.createStatement()) {
+                optimize(stmt);
+            } catch (SQLException e) {
+                e.printStackTrace();
+            }
+            current.close();
+        }
+    }
+
+    // Failures propagate so startup can stop rather than run on an unmigrated or unopened database.
+    public static void initialize() throws SQLException {
         try (Connection conn = getConnection();
                 Statement stmt = conn.createStatement()) {
 
-            stmt.execute("""
-                        CREATE TABLE IF NOT EXISTS users (
-                            id INTEGER PRIMARY KEY AUTOINCREMENT,
-                            username TEXT UNIQUE NOT NULL,
-                            password TEXT NOT NULL,
-                            email TEXT NOT NULL,
-                            full_name TEXT NOT NULL,
-                            phone_number TEXT NOT NULL,
-                            address TEXT NOT NULL,
-                            is_admin INTEGER DEFAULT 0,
-                            created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
-                        )
-                    """);
-
-            stmt.execute("""
-                        CREATE TABLE IF NOT EXISTS pets (
-                            id INTEGER PRIMARY KEY AUTOINCREMENT,
-                            name TEXT NOT NULL,
-                            species TEXT NOT NULL,
-                            breed TEXT,
-                            age INTEGER NOT NULL,
-                            gender TEXT NOT NULL,
-                            size TEXT NOT NULL,
-                            color TEXT,
-                            description TEXT NOT NULL,
-                            image_url TEXT,
-                            status TEXT DEFAULT 'AVAILABLE',
-                            created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
-                        )
-                    """);
-
-            stmt.execute("""
-                        CREATE TABLE IF NOT EXISTS adoptions (
-                            id INTEGER PRIMARY KEY AUTOINCREMENT,
-                            user_id INTEGER NOT NULL,
-                            pet_id INTEGER NOT NULL,
-                            adoption_date TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-                            status TEXT DEFAULT 'PENDING',
-                            notes TEXT,
-                            FOREIGN KEY (user_id) REFERENCES users(id),
-                            FOREIGN KEY (pet_id) REFERENCES pets(id)
-                        )
-                    """);
+            migrate(conn);
 
             try {
                 stmt.execute(
@@ -92,36 +182,312 @@ class DatabaseManager {
                 insertSamplePets(conn);
             }
 
+            optimize(stmt);
             System.out.println("Database initialized successfully!");
+        }
+    }
 
-        } catch (SQLException e) {
-            e.printStackTrace();
+    private static void migrate(Connection conn) throws SQLException {
+        int version;
+        try (Statement stmt = conn.createStatement();
+                ResultSet rs = stmt.executeQuery("PRAGMA user_version")) {
+            version = rs.next() ? rs.getInt(1) : 0;
+        }
+
+        if (version >= MIGRATIONS.size()) {
+            return;
         }
+
+        for (int i = version; i < MIGRATIONS.size(); i++) {
+            conn.setAutoCommit(false);
+            try (Statement stmt = conn.createStatement()) {
+                MIGRATIONS.get(i).apply(conn, stmt);
+                stmt.execute("PRAGMA user_version = " + (i + 1));
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw new SQLException("Migration to schema version " + (i + 1) + " failed", e);
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("ANALYZE");
+            dropSearchIndexDataStat(stmt);
+        }
+        System.out.println("Database migrated from schema version " + version + " to " + MIGRATIONS.size());
     }
 
-    private static void insertSamplePets(Connection conn) throws SQLException {
-        String[] samplePets = {
-                "INSERT INTO pets (name, species, breed, age, gender, size, color, description, image_url) VALUES " +
-                        "('Max', 'Dog', 'Golden Retriever', 3, 'Male', 'Large', 'Golden', 'Friendly and energetic dog, great with kids!', 'https://images.unsplash.com/photo-1633722715463-d30f4f325e24')",
+    // Version 1 is the original schema; every statement in it is idempotent so that
+    // databases created before versioning are adopted without changes.
+    private static void createBaseSchema(Connection conn, Statement stmt) throws SQLException {
+        stmt.execute("""
+                    CREATE TABLE IF NOT EXISTS users (
+                        id INTEGER PRIMARY KEY AUTOINCREMENT,
+                        username TEXT UNIQUE NOT NULL,
+                        password TEXT NOT NULL,
+                        email TEXT NOT NULL,
+                        full_name TEXT NOT NULL,
+                        phone_number TEXT NOT NULL,
+                        address TEXT NOT NULL,
+                        is_admin INTEGER DEFAULT 0,
+                        created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+                    )
+                """);
+
+        stmt.execute("""
+                    CREATE TABLE IF NOT EXISTS pets (
+                        id INTEGER PRIMARY KEY AUTOINCREMENT,
+                        name TEXT NOT NULL,
+                        species TEXT NOT NULL,
+                        breed TEXT,
+                        age INTEGER NOT NULL,
+                        gender TEXT NOT NULL,
+                        size TEXT NOT NULL,
+                        color TEXT,
+                        description TEXT NOT NULL,
+                        image_url TEXT,
+                        status TEXT DEFAULT 'AVAILABLE',
+                        created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+                    )
+                """);
+
+        stmt.execute("""
+                    CREATE TABLE IF NOT EXISTS adoptions (
+                        id INTEGER PRIMARY KEY AUTOINCREMENT,
+                        user_id INTEGER NOT NULL,
+                        pet_id INTEGER NOT NULL,
+                        adoption_date TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+                        status TEXT DEFAULT 'PENDING',
+                        notes TEXT,
+                        FOREIGN KEY (user_id) REFERENCES users(id),
+                        FOREIGN KEY (pet_id) REFERENCES pets(id)
+                    )
+                """);
+    }
+
+    private static void addImageAssets(Connection conn, Statement stmt) throws SQLException {
+        stmt.execute("""
+                    CREATE TABLE IF NOT EXISTS image_assets (
+                        hash TEXT PRIMARY KEY,
+                        path TEXT NOT NULL,
+                        width INTEGER NOT NULL,
+                        height INTEGER NOT NULL,
+                        bytes INTEGER NOT NULL,
+                        created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+                    )
+                """);
+
+        if (!hasColumn(conn, "pets", "image_hash")) {
+            stmt.execute("ALTER TABLE pets ADD COLUMN image_hash TEXT REFERENCES image_assets(hash)");
+        }
+    }
 
-                "INSERT INTO pets (name, species, breed, age, gender, size, color, description, image_url) VALUES " +
-                        "('Luna', 'Cat', 'Persian', 2, 'Female', 'Medium', 'White', 'Calm and affectionate cat, loves to cuddle.', 'https://images.unsplash.com/photo-1514888286974-6c03e2ca1dba')",
+    private static void addQueryIndexes(Connection conn, Statement stmt) throws SQLException {
+        stmt.execute("CREATE INDEX IF NOT EXISTS idx_pets_status_id ON pets(status, id)");
+        stmt.execute("CREATE INDEX IF NOT EXISTS idx_adoptions_user_date ON adoptions(user_id, adoption_date)");
+        stmt.execute("CREATE INDEX IF NOT EXISTS idx_adoptions_pet ON adoptions(pet_id)");
+        stmt.execute("CREATE INDEX IF NOT EXISTS idx_adoptions_date ON adoptions(adoption_date)");
+    }
 
-                "INSERT INTO pets (name, species, breed, age, gender, size, color, description, image_url) VALUES " +
-                        "('Charlie', 'Dog', 'Beagle', 5, 'Male', 'Medium', 'Brown', 'Playful and curious, perfect for active families.', 'https://images.unsplash.com/photo-1505628346881-b72b27e84530')",
+    // Dashboard counters are kept by triggers so reading them never scans pets or adoptions.
+    private static void addStatsCounters(Connection conn, Statement stmt) throws SQLException {
+        stmt.execute("""
+                    CREATE TABLE IF NOT EXISTS pet_stats (
+                        name TEXT PRIMARY KEY,
+                        value INTEGER NOT NULL DEFAULT 0
+                    )
+                """);
+
+        stmt.execute("""
+                    INSERT OR REPLACE INTO pet_stats (name, value) VALUES
+                        ('total_pets', (SELECT COUNT(*) FROM pets)),
+                        ('available_pets', (SELECT COUNT(*) FROM pets WHERE status = 'AVAILABLE')),
+                        ('adopted_pets', (SELECT COUNT(*) FROM pets WHERE status = 'ADOPTED')),
+                        ('total_adoptions', (SELECT COUNT(*) FROM adoptions))
+                """);
+
+        stmt.execute("""
+                    CREATE TRIGGER IF NOT EXISTS pet_stats_pet_insert AFTER INSERT ON pets
+                    BEGIN
+                        UPDATE pet_stats SET value = value + CASE name
+                            WHEN 'total_pets' THEN 1
+                            WHEN 'available_pets' THEN NEW.status IS 'AVAILABLE'
+                            WHEN 'adopted_pets' THEN NEW.status IS 'ADOPTED'
+                            ELSE 0 END;
+                    END
+                """);
+
+        stmt.execute("""
+                    CREATE TRIGGER IF NOT EXISTS pet_stats_pet_delete AFTER DELETE ON pets
+                    BEGIN
+                        UPDATE pet_stats SET value = value - CASE name
+                            WHEN 'total_pets' THEN 1
+                            WHEN 'available_pets' THEN OLD.status IS 'AVAILABLE'
+                            WHEN 'adopted_pets' THEN OLD.status IS 'ADOPTED'
+                            ELSE 0 END;
+                    END
+                """);
+
+        stmt.execute("""
+                    CREATE TRIGGER IF NOT EXISTS pet_stats_pet_status AFTER UPDATE OF status ON pets
+                    WHEN OLD.status IS NOT NEW.status
+                    BEGIN
+                        UPDATE pet_stats SET value = value + CASE name
+                            WHEN 'available_pets' THEN (NEW.status IS 'AVAILABLE') - (OLD.status IS 'AVAILABLE')
+                            WHEN 'adopted_pets' THEN (NEW.status IS 'ADOPTED') - (OLD.status IS 'ADOPTED')
+                            ELSE 0 END;
+                    END
+                """);
+
+        stmt.execute("""
+                    CREATE TRIGGER IF NOT EXISTS pet_stats_adoption_insert AFTER INSERT ON adoptions
+                    BEGIN
+                        UPDATE pet_stats SET value = value + 1 WHERE name = 'total_adoptions';
+                    END
+                """);
+
+        stmt.execute("""
+                    CREATE TRIGGER IF NOT EXISTS pet_stats_adoption_delete AFTER DELETE ON adoptions
+                    BEGIN
+                        UPDATE pet_stats SET value = value - 1 WHERE name = 'total_adoptions';
+                    END
+                """);
+    }
 
-                "INSERT INTO pets (name, species, breed, age, gender, size, color, description, image_url) VALUES " +
-                        "('Bella', 'Cat', 'Siamese', 1, 'Female', 'Small', 'Cream', 'Young and playful kitten, very social and friendly.', 'https://images.unsplash.com/photo-1573865526739-10c1de0ac088')",
+    private static void addPetSearchIndex(Connection conn, Statement stmt) throws SQLException {
+        stmt.execute("""
+                    CREATE VIRTUAL TABLE IF NOT EXISTS pets_fts USING fts5(
+                        name, species, breed, color, description,
+                        content = 'pets',
+                        content_rowid = 'id',
+                        tokenize = 'unicode61 remove_diacritics 2',
+                        prefix = '2 3'
+                    )
+                """);
+
+        stmt.execute("""
+                    CREATE TRIGGER IF NOT EXISTS pets_fts_insert AFTER INSERT ON pets
+                    BEGIN
+                        INSERT INTO pets_fts (rowid, name, species, breed, color, description)
+                        VALUES (NEW.id, NEW.name, NEW.species, NEW.breed, NEW.color, NEW.description);
+                    END
+                """);
+
+        stmt.execute("""
+                    CREATE TRIGGER IF NOT EXISTS pets_fts_delete AFTER DELETE ON pets
+                    BEGIN
+                        INSERT INTO pets_fts (pets_fts, rowid, name, species, breed, color, description)
+                        VALUES ('delete', OLD.id, OLD.name, OLD.species, OLD.breed, OLD.color, OLD.description);
+                    END
+                """);
+
+        stmt.execute("""
+                    CREATE TRIGGER IF NOT EXISTS pets_fts_update
+                    AFTER UPDATE OF name, species, breed, color, description ON pets
+                    BEGIN
+                        INSERT INTO pets_fts (pets_fts, rowid, name, species, breed, color, description)
+                        VALUES ('delete', OLD.id, OLD.name, OLD.species, OLD.breed, OLD.color, OLD.description);
+                        INSERT INTO pets_fts (rowid, name, species, breed, color, description)
+                        VALUES (NEW.id, NEW.name, NEW.species, NEW.breed, NEW.color, NEW.description);
+                    END
+                """);
+
+        stmt.execute("INSERT INTO pets_fts (pets_fts) VALUES ('rebuild')");
+    }
 
-                "INSERT INTO pets (name, species, breed, age, gender, size, color, description, image_url) VALUES " +
-                        "('Rocky', 'Dog', 'German Shepherd', 4, 'Male', 'Large', 'Black/Brown', 'Loyal and protective, well-trained guard dog.', 'https://images.unsplash.com/photo-1568572933382-74d440642117')",
+    private static void addFacetIndex(Connection conn, Statement stmt) throws SQLException {
+        stmt.execute("CREATE INDEX IF NOT EXISTS idx_pets_facets ON pets(status, species, size, gender, age)");
+    }
 
-                "INSERT INTO pets (name, species, breed, age, gender, size, color, description, image_url) VALUES " +
-                        "('Mittens', 'Cat', 'Tabby', 3, 'Female', 'Medium', 'Orange', 'Independent but loving cat, enjoys outdoor exploration.', 'https://images.unsplash.com/photo-1529778873920-4da4926a72c2')"
-        };
+    // Backs every sortable admin table column. Single-column indexes end in the rowid, which is the
+    // id tie-breaker of each sort; the text columns sort and filter without regard to case.
+    private static void addSortIndexes(Connection conn, Statement stmt) throws SQLException {
+        stmt.execute("CREATE INDEX IF NOT EXISTS idx_pets_name ON pets(name COLLATE NOCASE)");
+        stmt.execute("CREATE INDEX IF NOT EXISTS idx_pets_species ON pets(species COLLATE NOCASE)");
+        stmt.execute("CREATE INDEX IF NOT EXISTS idx_pets_breed ON pets(breed COLLATE NOCASE)");
+        stmt.execute("CREATE INDEX IF NOT EXISTS idx_pets_age ON pets(age)");
+        stmt.execute("CREATE INDEX IF NOT EXISTS idx_users_full_name ON users(full_name COLLATE NOCASE)");
+        stmt.execute("CREATE INDEX IF NOT EXISTS idx_users_email ON users(email COLLATE NOCASE)");
+        stmt.execute("CREATE INDEX IF NOT EXISTS idx_adoptions_status ON adoptions(status)");
+    }
 
-        for (String sql : samplePets) {
-            conn.createStatement().execute(sql);
+    // The approval queue lists PENDING requests oldest first. The status-only index is a prefix of
+    // this one and would just slow down writes.
+    private static void addApprovalQueueIndex(Connection conn, Statement stmt) throws SQLException {
+        stmt.execute("CREATE INDEX IF NOT EXISTS idx_adoptions_status_date ON adoptions(status, adoption_date)");
+        stmt.execute("DROP INDEX IF EXISTS idx_adoptions_status");
+    }
+
+    private static void optimize(Statement stmt) throws SQLException {
+        stmt.execute("PRAGMA optimize");
+        dropSearchIndexDataStat(stmt);
+    }
+
+    // FTS5 reads and deletes pets_fts_data blocks by rowid range while it merges segments. A row count
+    // for that table analyzed while the index was tiny turns those ranges into full scans, and PRAGMA
+    // optimize does not refresh it, so every import after the first gets slower as the index grows.
+    // Without a statistic the planner keeps the rowid range. The other shadow tables' rows are harmless.
+    private static void dropSearchIndexDataStat(Statement stmt) throws SQLException {
+        try (ResultSet rs = stmt.executeQuery("SELECT 1 FROM sqlite_master WHERE name = 'sqlite_stat1'")) {
+            if (!rs.next()) {
+                return;
+            }
+        }
+        if (stmt.executeUpdate("DELETE FROM sqlite_stat1 WHERE tbl = 'pets_fts_data'") > 0) {
+            stmt.execute("ANALYZE sqlite_schema");
+        }
+    }
+
+    // Pets used to be deleted without their adoptions. Foreign keys are not enforced, so those rows
+    // were left behind, counted in total_adoptions but dropped by every join with pets.
+    private static void removeOrphanedAdoptions(Connection conn, Statement stmt) throws SQLException {
+        stmt.execute("DELETE FROM adoptions WHERE pet_id NOT IN (SELECT id FROM pets)");
+    }
+
+    private static boolean hasColumn(Connection conn, String table, String column) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+                ResultSet rs = stmt.executeQuery("PRAGMA table_info(" + table + ")")) {
+            while (rs.next()) {
+                if (column.equalsIgnoreCase(rs.getString("name"))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static void insertSamplePets(Connection conn) throws SQLException {
+        java.util.List<PetRecord> samplePets = java.util.List.of(
+                new PetRecord("Max", "Dog", "Golden Retriever", 3, "Male", "Large", "Golden",
+                        "Friendly and energetic dog, great with kids!",
+                        "https://images.unsplash.com/photo-1633722715463-d30f4f325e24", null),
+                new PetRecord("Luna", "Cat", "Persian", 2, "Female", "Medium", "White",
+                        "Calm and affectionate cat, loves to cuddle.",
+                        "https://images.unsplash.com/photo-1514888286974-6c03e2ca1dba", null),
+                new PetRecord("Charlie", "Dog", "Beagle", 5, "Male", "Medium", "Brown",
+                        "Playful and curious, perfect for active families.",
+                        "https://images.unsplash.com/photo-1505628346881-b72b27e84530", null),
+                new PetRecord("Bella", "Cat", "Siamese", 1, "Female", "Small", "Cream",
+                        "Young and playful kitten, very social and friendly.",
+                        "https://images.unsplash.com/photo-1573865526739-10c1de0ac088", null),
+                new PetRecord("Rocky", "Dog", "German Shepherd", 4, "Male", "Large", "Black/Brown",
+                        "Loyal and protective, well-trained guard dog.",
+                        "https://images.unsplash.com/photo-1568572933382-74d440642117", null),
+                new PetRecord("Mittens", "Cat", "Tabby", 3, "Female", "Medium", "Orange",
+                        "Independent but loving cat, enjoys outdoor exploration.",
+                        "https://images.unsplash.com/photo-1529778873920-4da4926a72c2", null));
+
+        conn.setAutoCommit(false);
+        try {
+            PetImporter.insertBatch(conn, samplePets);
+            conn.commit();
+        } catch (SQLException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(true);
         }
     }
 }
@@ -248,6 +614,51 @@ class Pet {
     }
 }
 
+class PetStats {
+    private final int totalPets;
+    private final int availablePets;
+    private final int adoptedPets;
+    private final int totalAdoptions;
+
+    public PetStats(int totalPets, int availablePets, int adoptedPets, int totalAdoptions) {
+        this.totalPets = totalPets;
+        this.availablePets = availablePets;
+        this.adoptedPets = adoptedPets;
+        this.totalAdoptions = totalAdoptions;
+    }
+
+    public static PetStats load(Connection conn) throws SQLException {
+        java.util.Map<String, Integer> values = new java.util.HashMap<>();
+        try (Statement stmt = conn.createStatement();
+                ResultSet rs = stmt.executeQuery("SELECT name, value FROM pet_stats")) {
+            while (rs.next()) {
+                values.put(rs.getString("name"), rs.getInt("value"));
+            }
+        }
+        return new PetStats(
+                values.getOrDefault("total_pets", 0),
+                values.getOrDefault("available_pets", 0),
+                values.getOrDefault("adopted_pets", 0),
+                values.getOrDefault("total_adoptions", 0));
+    }
+
+    public int getTotalPets() {
+        return totalPets;
+    }
+
+    public int getAvailablePets() {
+        return availablePets;
+    }
+
+    public int getAdoptedPets() {
+        return adoptedPets;
+    }
+
+    public int getTotalAdoptions() {
+        return totalAdoptions;
+    }
+}
+
 class Adoption {
     private final int id;
     private final User user;
@@ -290,24 +701,45 @@ class Adoption {
     }
 }
 
+// Shown while Startup warms up the database in the background, and closed as soon as that is done.
 class SplashScreen extends JWindow {
-    private static final int DISPLAY_TIME = 3000;
     private static final int WIDTH = 700;
     private static final int HEIGHT = 500;
-
-    public SplashScreen() {
+    private static final int BAR_WIDTH = 300;
+    private static final int BAR_HEIGHT = 6;
+    private static final Color GRADIENT_START = new Color(67, 97, 238);
+    private static final Color GRADIENT_END = new Color(128, 90, 213);
+    private static final Color SHAPE_COLOR = new Color(255, 255, 255, 20);
+    private static final Color SHADOW_COLOR = new Color(255, 255, 255, 30);
+    private static final Color SUBTITLE_COLOR = new Color(255, 255, 255, 220);
+    private static final Color BAR_TRACK_COLOR = new Color(255, 255, 255, 50);
+    private static final Color BAR_START = new Color(100, 255, 218);
+    private static final Color BAR_END = new Color(72, 209, 204);
+
+    public SplashScreen(java.util.concurrent.CompletableFuture<Void> warmUp) {
         JPanel panel = createModernSplashPanel();
         setContentPane(panel);
         setSize(WIDTH, HEIGHT);
         setLocationRelativeTo(null);
         setVisible(true);
 
-        javax.swing.Timer timer = new javax.swing.Timer(DISPLAY_TIME, e -> {
+        // Without a migrated, open database every panel would fail on its own, so a failed
+        // warm-up is reported once and ends the program instead of opening the window.
+        MainFrame frame = new MainFrame();
+        warmUp.whenComplete((ignored, e) -> SwingUtilities.invokeLater(() -> {
             dispose();
-            new MainFrame();
-        });
-        timer.setRepeats(false);
-        timer.start();
+            if (e != null) {
+                Throwable cause = e instanceof java.util.concurrent.CompletionException && e.getCause() != null
+                        ? e.getCause()
+                        : e;
+                JOptionPane.showMessageDialog(null, "Failed to start: " + cause.getMessage(), "Error",
+                        JOptionPane.ERROR_MESSAGE);
+                frame.dispose();
+                System.exit(1);
+            }
+            frame.open();
+            Startup.logInteractive();
+        }));
     }
 
     private JPanel createModernSplashPanel() {
@@ -326,53 +758,68 @@ class SplashScreen extends JWindow {
                 fadeTimer.start();
             }
 
+            // The fade only changes alpha and the bar's length, so the background and everything
+            // drawn over it come from RenderCache and each tick is a few image copies.
             @Override
             protected void paintComponent(Graphics g) {
                 super.paintComponent(g);
                 Graphics2D g2d = (Graphics2D) g;
-                g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-                g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                GraphicsConfiguration gc = getGraphicsConfiguration();
+                int width = getWidth();
+                int height = getHeight();
 
-                GradientPaint gp = new GradientPaint(
-                        0, 0, new Color(67, 97, 238),
-                        getWidth(), getHeight(), new Color(128, 90, 213));
-                g2d.setPaint(gp);
-                g2d.fillRect(0, 0, getWidth(), getHeight());
+                g2d.drawImage(RenderCache.gradient(gc, GRADIENT_START, GRADIENT_END, width, height, true), 0, 0,
+                        width, height, null);
 
                 g2d.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, alpha));
+                g2d.drawImage(RenderCache.custom(gc, java.util.List.of("splash"), width, height, this::drawContent),
+                        0, 0, width, height, null);
+
+                int progress = (int) (BAR_WIDTH * alpha);
+                if (progress > 0) {
+                    g2d.drawImage(RenderCache.roundedGradient(gc, BAR_START, BAR_END, BAR_WIDTH, BAR_HEIGHT),
+                            (width - BAR_WIDTH) / 2, getBarY(), progress, BAR_HEIGHT, null);
+                }
+            }
+
+            private int getBarY() {
+                return getHeight() / 2 + 130;
+            }
 
+            private void drawContent(Graphics2D g2d) {
                 drawAnimatedShapes(g2d);
 
-                g2d.setColor(Color.WHITE);
-                g2d.setFont(new Font("Segoe UI", Font.BOLD, 90));
+                g2d.setFont(RenderCache.font(Font.BOLD, 90));
                 String iconText = "PET";
                 FontMetrics fm = g2d.getFontMetrics();
                 int x = (getWidth() - fm.stringWidth(iconText)) / 2;
                 int y = getHeight() / 2 - 50;
 
-                g2d.setColor(new Color(255, 255, 255, 30));
+                g2d.setColor(SHADOW_COLOR);
                 g2d.drawString(iconText, x + 3, y + 3);
                 g2d.setColor(Color.WHITE);
                 g2d.drawString(iconText, x, y);
 
-                g2d.setFont(new Font("Segoe UI", Font.BOLD, 42));
+                g2d.setFont(RenderCache.font(Font.BOLD, 42));
                 String title = "Pet Adoption System";
                 fm = g2d.getFontMetrics();
                 x = (getWidth() - fm.stringWidth(title)) / 2;
                 g2d.drawString(title, x, y + 80);
 
-                g2d.setFont(new Font("Segoe UI", Font.PLAIN, 20));
+                g2d.setFont(RenderCache.font(Font.PLAIN, 20));
                 String subtitle = "Find your perfect companion";
                 fm = g2d.getFontMetrics();
                 x = (getWidth() - fm.stringWidth(subtitle)) / 2;
-                g2d.setColor(new Color(255, 255, 255, 220));
+                g2d.setColor(SUBTITLE_COLOR);
                 g2d.drawString(subtitle, x, y + 130);
 
-                drawLoadingBar(g2d, y + 180);
+                g2d.setColor(BAR_TRACK_COLOR);
+                g2d.fillRoundRect((getWidth() - BAR_WIDTH) / 2, getBarY(), BAR_WIDTH, BAR_HEIGHT, BAR_HEIGHT,
+                        BAR_HEIGHT);
             }
 
             private void drawAnimatedShapes(Graphics2D g2d) {
-                g2d.setColor(new Color(255, 255, 255, 20));
+                g2d.setColor(SHAPE_COLOR);
 
                 Ellipse2D circle1 = new Ellipse2D.Double(50, 50, 100, 100);
                 g2d.fill(circle1);
@@ -383,22 +830,6 @@ class SplashScreen extends JWindow {
                 RoundRectangle2D rect = new RoundRectangle2D.Double(getWidth() - 180, 80, 80, 80, 20, 20);
                 g2d.fill(rect);
             }
-
-            private void drawLoadingBar(Graphics2D g2d, int y) {
-                int barWidth = 300;
-                int barHeight = 6;
-                int x = (getWidth() - barWidth) / 2;
-
-                g2d.setColor(new Color(255, 255, 255, 50));
-                g2d.fillRoundRect(x, y, barWidth, barHeight, barHeight, barHeight);
-
-                int progress = (int) (barWidth * alpha);
-                GradientPaint loadingGradient = new GradientPaint(
-                        x, y, new Color(100, 255, 218),
-                        x + progress, y, new Color(72, 209, 204));
-                g2d.setPaint(loadingGradient);
-                g2d.fillRoundRect(x, y, progress, barHeight, barHeight, barHeight);
-            }
         };
     }
 }
@@ -413,11 +844,13 @@ class MainFrame extends JFrame {
     private static final Color SUCCESS_COLOR = new Color(34, 197, 94);
     private static final Color TEXT_COLOR = new Color(15, 23, 42);
     private static final Color LIGHT_BG = new Color(248, 250, 252);
+    private static final Color HEADER_BUTTON_COLOR = new Color(255, 255, 255, 30);
 
-    private User currentUser;
+    private Session session;
     private final CardLayout cardLayout;
     private final JPanel mainPanel;
     private final JPanel headerPanel;
+    private final java.util.Map<String, JPanel> panels = new java.util.HashMap<>();
 
     public MainFrame() {
         setTitle("Pet Adoption System");
@@ -431,15 +864,11 @@ class MainFrame extends JFrame {
 
         headerPanel = createModernHeader();
 
-        mainPanel.add(new LoginPanel(this), "login");
-        mainPanel.add(new RegisterPanel(this), "register");
-        mainPanel.add(new BrowsePetsPanel(this), "browse");
-        mainPanel.add(new MyAdoptionsPanel(this), "myAdoptions");
-        mainPanel.add(new AdminPanel(this), "admin");
-
         add(headerPanel, BorderLayout.NORTH);
         add(mainPanel, BorderLayout.CENTER);
+    }
 
+    public void open() {
         showPanel("browse");
         setVisible(true);
     }
@@ -449,11 +878,8 @@ class MainFrame extends JFrame {
             @Override
             protected void paintComponent(Graphics g) {
                 super.paintComponent(g);
-                Graphics2D g2d = (Graphics2D) g;
-                g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
-                GradientPaint gp = new GradientPaint(0, 0, PRIMARY_COLOR, getWidth(), 0, SECONDARY_COLOR);
-                g2d.setPaint(gp);
-                g2d.fillRect(0, 0, getWidth(), getHeight());
+                g.drawImage(RenderCache.gradient(getGraphicsConfiguration(), PRIMARY_COLOR, SECONDARY_COLOR,
+                        getWidth(), getHeight(), false), 0, 0, getWidth(), getHeight(), null);
             }
         };
         header.setPreferredSize(new Dimension(WINDOW_WIDTH, 80));
@@ -463,7 +889,7 @@ class MainFrame extends JFrame {
         leftPanel.setOpaque(false);
 
         JLabel logoLabel = new JLabel("PET ADOPTION");
-        logoLabel.setFont(new Font("Segoe UI", Font.BOLD, 28));
+        logoLabel.setFont(RenderCache.font(Font.BOLD, 28));
         logoLabel.setForeground(Color.WHITE);
         leftPanel.add(logoLabel);
 
@@ -481,8 +907,9 @@ class MainFrame extends JFrame {
     private void updateHeaderButtons(JPanel rightPanel) {
         rightPanel.removeAll();
 
+        User currentUser = getCurrentUser();
         if (currentUser == null) {
-            addModernButton(rightPanel, "Browse Pets", new Color(255, 255, 255, 30), Color.WHITE,
+            addModernButton(rightPanel, "Browse Pets", HEADER_BUTTON_COLOR, Color.WHITE,
                     e -> showPanel("browse"));
             addModernButton(rightPanel, "Login", Color.WHITE, PRIMARY_COLOR, e -> showPanel("login"));
             addModernButton(rightPanel, "Register", ACCENT_COLOR, Color.WHITE, e -> showPanel("register"));
@@ -496,16 +923,16 @@ class MainFrame extends JFrame {
             }
 
             JLabel userLabel = new JLabel(currentUser.getUsername());
-            userLabel.setFont(new Font("Segoe UI", Font.BOLD, 15));
+            userLabel.setFont(RenderCache.font(Font.BOLD, 15));
             userLabel.setForeground(Color.WHITE);
             userInfoPanel.add(userLabel);
 
             rightPanel.add(userInfoPanel);
 
             if (!currentUser.isAdmin()) {
-                addModernButton(rightPanel, "Browse", new Color(255, 255, 255, 30), Color.WHITE,
+                addModernButton(rightPanel, "Browse", HEADER_BUTTON_COLOR, Color.WHITE,
                         e -> showPanel("browse"));
-                addModernButton(rightPanel, "My Adoptions", new Color(255, 255, 255, 30), Color.WHITE,
+                addModernButton(rightPanel, "My Adoptions", HEADER_BUTTON_COLOR, Color.WHITE,
                         e -> showPanel("myAdoptions"));
             }
 
@@ -516,12 +943,16 @@ class MainFrame extends JFrame {
         rightPanel.repaint();
     }
 
+    // The label keeps its font and border only to size itself; it paints a cached tile.
     private JLabel createBadge(String text, Color color) {
-        JLabel badge = new JLabel(text);
-        badge.setFont(new Font("Segoe UI", Font.BOLD, 11));
-        badge.setForeground(Color.WHITE);
-        badge.setBackground(color);
-        badge.setOpaque(true);
+        JLabel badge = new JLabel(text) {
+            @Override
+            protected void paintComponent(Graphics g) {
+                g.drawImage(RenderCache.badge(getGraphicsConfiguration(), getText(), getFont(), color, getWidth(),
+                        getHeight()), 0, 0, getWidth(), getHeight(), null);
+            }
+        };
+        badge.setFont(RenderCache.font(Font.BOLD, 11));
         badge.setBorder(BorderFactory.createEmptyBorder(4, 10, 4, 10));
         return badge;
     }
@@ -533,33 +964,22 @@ class MainFrame extends JFrame {
         panel.add(button);
     }
 
+    // Each state is rendered once per size, so hovering only swaps which tile is drawn.
     private JButton createModernButton(String text, Color bgColor, Color fgColor) {
+        Color pressedColor = bgColor.darker();
+        Color rolloverColor = bgColor.brighter();
+
         JButton button = new JButton(text) {
             @Override
             protected void paintComponent(Graphics g) {
-                Graphics2D g2d = (Graphics2D) g;
-                g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-
-                if (getModel().isPressed()) {
-                    g2d.setColor(bgColor.darker());
-                } else if (getModel().isRollover()) {
-                    g2d.setColor(bgColor.brighter());
-                } else {
-                    g2d.setColor(bgColor);
-                }
-
-                g2d.fillRoundRect(0, 0, getWidth(), getHeight(), 12, 12);
-
-                g2d.setColor(getForeground());
-                g2d.setFont(getFont());
-                FontMetrics fm = g2d.getFontMetrics();
-                int x = (getWidth() - fm.stringWidth(getText())) / 2;
-                int y = (getHeight() + fm.getAscent() - fm.getDescent()) / 2;
-                g2d.drawString(getText(), x, y);
+                Color background = getModel().isPressed() ? pressedColor
+                        : getModel().isRollover() ? rolloverColor : bgColor;
+                g.drawImage(RenderCache.button(getGraphicsConfiguration(), getText(), getFont(), background,
+                        getForeground(), getWidth(), getHeight()), 0, 0, getWidth(), getHeight(), null);
             }
         };
 
-        button.setFont(new Font("Segoe UI", Font.BOLD, 14));
+        button.setFont(RenderCache.font(Font.BOLD, 14));
         button.setForeground(fgColor);
         button.setFocusPainted(false);
         button.setBorderPainted(false);
@@ -571,17 +991,41 @@ class MainFrame extends JFrame {
     }
 
     public void showPanel(String panelName) {
+        DbExecutor.cancelAllExcept(panelName);
+        JPanel panel = getPanel(panelName);
         cardLayout.show(mainPanel, panelName);
 
         switch (panelName) {
-            case "browse" -> ((BrowsePetsPanel) mainPanel.getComponent(2)).refreshPets();
-            case "myAdoptions" -> ((MyAdoptionsPanel) mainPanel.getComponent(3)).refreshAdoptions();
-            case "admin" -> ((AdminPanel) mainPanel.getComponent(4)).refreshData();
+            case "browse" -> ((BrowsePetsPanel) panel).refreshPets();
+            case "myAdoptions" -> ((MyAdoptionsPanel) panel).refreshAdoptions();
+            case "admin" -> ((AdminPanel) panel).refreshData();
+        }
+    }
+
+    // Panels are built the first time they are shown, so nobody pays for the admin screens
+    // without being an admin.
+    private JPanel getPanel(String panelName) {
+        JPanel panel = panels.get(panelName);
+        if (panel == null) {
+            panel = switch (panelName) {
+                case "login" -> new LoginPanel(this);
+                case "register" -> new RegisterPanel(this);
+                case "browse" -> new BrowsePetsPanel(this);
+                case "myAdoptions" -> new MyAdoptionsPanel(this);
+                case "admin" -> new AdminPanel(this);
+                default -> throw new IllegalArgumentException("Unknown panel: " + panelName);
+            };
+            panels.put(panelName, panel);
+            mainPanel.add(panel, panelName);
         }
+        return panel;
     }
 
     public void setCurrentUser(User user) {
-        this.currentUser = user;
+        if (session != null) {
+            session.close();
+        }
+        session = user == null ? null : new Session(user);
         updateHeaderButtons((JPanel) headerPanel.getComponent(1));
 
         if (user != null) {
@@ -590,11 +1034,16 @@ class MainFrame extends JFrame {
     }
 
     public User getCurrentUser() {
-        return currentUser;
+        return session == null ? null : session.getUser();
+    }
+
+    public Session getSession() {
+        return session;
     }
 
     private void logout() {
-        currentUser = null;
+        session.close();
+        session = null;
         updateHeaderButtons((JPanel) headerPanel.getComponent(1));
         showPanel("browse");
         showModernDialog("Logged out successfully!", "Logout", JOptionPane.INFORMATION_MESSAGE);
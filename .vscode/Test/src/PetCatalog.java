@@ -0,0 +1,270 @@
+import java.sql.*;
+import java.util.*;
+import java.util.List;
+
+class PetFilter {
+    enum Facet {
+        SPECIES("Species", "p.species"),
+        SIZE("Size", "p.size"),
+        GENDER("Gender", "p.gender"),
+        AGE("Age", null);
+
+        final String label;
+        final String column;
+
+        Facet(String label, String column) {
+            this.label = label;
+            this.column = column;
+        }
+    }
+
+    enum AgeRange {
+        BABY("Under 1 year", 0, 0),
+        YOUNG("1-2 years", 1, 2),
+        ADULT("3-7 years", 3, 7),
+        SENIOR("8+ years", 8, Integer.MAX_VALUE);
+
+        static final String SQL = "CASE WHEN p.age < 1 THEN 'BABY' WHEN p.age < 3 THEN 'YOUNG'"
+                + " WHEN p.age < 8 THEN 'ADULT' ELSE 'SENIOR' END";
+
+        final String label;
+        final int minAge;
+        final int maxAge;
+
+        AgeRange(String label, int minAge, int maxAge) {
+            this.label = label;
+            this.minAge = minAge;
+            this.maxAge = maxAge;
+        }
+    }
+
+    public static final PetFilter NONE = new PetFilter("", new EnumMap<>(Facet.class));
+
+    private final String query;
+    private final Map<Facet, Set<String>> selected;
+
+    public PetFilter(String query, Map<Facet, Set<String>> selected) {
+        this.query = query == null ? "" : query.trim();
+        this.selected = new EnumMap<>(Facet.class);
+        for (Map.Entry<Facet, Set<String>> entry : selected.entrySet()) {
+            if (!entry.getValue().isEmpty()) {
+                this.selected.put(entry.getKey(), Collections.unmodifiableSet(new TreeSet<>(entry.getValue())));
+            }
+        }
+    }
+
+    public String getQuery() {
+        return query;
+    }
+
+    public boolean hasQuery() {
+        return !query.isEmpty();
+    }
+
+    public Set<String> getSelected(Facet facet) {
+        return selected.getOrDefault(facet, Collections.emptySet());
+    }
+
+    // True when a pet with the given facet values passes every selection except the skipped facet,
+    // which is how a facet's own counts are computed.
+    boolean matches(Map<Facet, String> values, Facet skip) {
+        for (Map.Entry<Facet, Set<String>> entry : selected.entrySet()) {
+            if (entry.getKey() != skip && !entry.getValue().contains(values.get(entry.getKey()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    String toSql(List<Object> params) {
+        StringBuilder sql = new StringBuilder("p.status = 'AVAILABLE'");
+        for (Map.Entry<Facet, Set<String>> entry : selected.entrySet()) {
+            sql.append(" AND (");
+            if (entry.getKey() == Facet.AGE) {
+                StringJoiner ranges = new StringJoiner(" OR ");
+                for (String value : entry.getValue()) {
+                    AgeRange range = AgeRange.valueOf(value);
+                    ranges.add("p.age BETWEEN ? AND ?");
+                    params.add(range.minAge);
+                    params.add(range.maxAge);
+                }
+                sql.append(ranges);
+            } else {
+                StringJoiner placeholders = new StringJoiner(", ", entry.getKey().column + " IN (", ")");
+                for (String value : entry.getValue()) {
+                    placeholders.add("?");
+                    params.add(value);
+                }
+                sql.append(placeholders);
+            }
+            sql.append(')');
+        }
+        return sql.toString();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof PetFilter other && query.equals(other.query) && selected.equals(other.selected);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(query, selected);
+    }
+}
+
+class FacetCounts {
+    private final Map<PetFilter.Facet, Map<String, Integer>> counts = new EnumMap<>(PetFilter.Facet.class);
+
+    public FacetCounts() {
+        for (PetFilter.Facet facet : PetFilter.Facet.values()) {
+            counts.put(facet, facet == PetFilter.Facet.AGE ? new LinkedHashMap<>() : new TreeMap<>());
+        }
+        for (PetFilter.AgeRange range : PetFilter.AgeRange.values()) {
+            counts.get(PetFilter.Facet.AGE).put(range.name(), 0);
+        }
+    }
+
+    void add(PetFilter.Facet facet, String value, int count) {
+        if (value != null) {
+            counts.get(facet).merge(value, count, Integer::sum);
+        }
+    }
+
+    public Map<String, Integer> get(PetFilter.Facet facet) {
+        return counts.get(facet);
+    }
+
+    public static String label(PetFilter.Facet facet, String value) {
+        return facet == PetFilter.Facet.AGE ? PetFilter.AgeRange.valueOf(value).label : value;
+    }
+}
+
+class PetCatalog {
+    private PetCatalog() {
+    }
+
+    public static List<Pet> loadAvailablePage(Connection conn, PetFilter filter, int afterId, int limit)
+            throws SQLException {
+        List<Object> params = new ArrayList<>();
+        String sql = "SELECT p.* FROM pets p WHERE " + filter.toSql(params) + " AND p.id > ? ORDER BY p.id LIMIT ?";
+        params.add(afterId);
+        params.add(limit);
+        return query(conn, sql, params);
+    }
+
+    // Ranked results are paged by offset because bm25 order has no stable key to seek on;
+    // relevance drops off quickly so users rarely page deep into a search.
+    public static List<Pet> search(Connection conn, PetFilter filter, int offset, int limit) throws SQLException {
+        String match = toMatchQuery(filter.getQuery());
+        if (match == null) {
+            return new ArrayList<>();
+        }
+
+        List<Object> params = new ArrayList<>();
+        params.add(match);
+        String sql = "SELECT p.* FROM pets_fts f JOIN pets p ON p.id = f.rowid WHERE pets_fts MATCH ? AND "
+                + filter.toSql(params)
+                + " ORDER BY bm25(pets_fts, 10.0, 4.0, 4.0, 2.0, 1.0), p.id LIMIT ? OFFSET ?";
+        params.add(limit);
+        params.add(offset);
+        return query(conn, sql, params);
+    }
+
+    // One grouped query returns a count per (species, size, gender, age range) combination;
+    // every facet's counts are then derived in memory from those few rows.
+    public static FacetCounts loadFacetCounts(Connection conn, PetFilter filter) throws SQLException {
+        List<Object> params = new ArrayList<>();
+        StringBuilder sql = new StringBuilder("SELECT p.species, p.size, p.gender, ")
+                .append(PetFilter.AgeRange.SQL).append(" AS age_range, COUNT(*) AS total FROM pets p");
+
+        if (filter.hasQuery()) {
+            String match = toMatchQuery(filter.getQuery());
+            if (match == null) {
+                return new FacetCounts();
+            }
+            sql.append(" JOIN pets_fts f ON f.rowid = p.id WHERE pets_fts MATCH ? AND p.status = 'AVAILABLE'");
+            params.add(match);
+        } else {
+            sql.append(" WHERE p.status = 'AVAILABLE'");
+        }
+        sql.append(" GROUP BY 1, 2, 3, 4");
+
+        FacetCounts counts = new FacetCounts();
+        try (PreparedStatement pstmt = prepare(conn, sql.toString(), params);
+                ResultSet rs = pstmt.executeQuery()) {
+            Map<PetFilter.Facet, String> values = new EnumMap<>(PetFilter.Facet.class);
+            while (rs.next()) {
+                values.put(PetFilter.Facet.SPECIES, rs.getString("species"));
+                values.put(PetFilter.Facet.SIZE, rs.getString("size"));
+                values.put(PetFilter.Facet.GENDER, rs.getString("gender"));
+                values.put(PetFilter.Facet.AGE, rs.getString("age_range"));
+                int total = rs.getInt("total");
+
+                for (PetFilter.Facet facet : PetFilter.Facet.values()) {
+                    if (filter.matches(values, facet)) {
+                        counts.add(facet, values.get(facet), total);
+                    }
+                }
+            }
+        }
+        return counts;
+    }
+
+    private static List<Pet> query(Connection conn, String sql, List<Object> params) throws SQLException {
+        try (PreparedStatement pstmt = prepare(conn, sql, params);
+                ResultSet rs = pstmt.executeQuery()) {
+            return readPets(rs);
+        }
+    }
+
+    static PreparedStatement prepare(Connection conn, String sql, List<Object> params) throws SQLException {
+        PreparedStatement pstmt = conn.prepareStatement(sql);
+        for (int i = 0; i < params.size(); i++) {
+            pstmt.setObject(i + 1, params.get(i));
+        }
+        return pstmt;
+    }
+
+    // Turns free text into an FTS5 query where every word must match as a prefix,
+    // e.g. "gold retr" becomes "gold"* "retr"*.
+    static String toMatchQuery(String text) {
+        if (text == null) {
+            return null;
+        }
+
+        StringBuilder match = new StringBuilder();
+        for (String token : text.split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty()) {
+                if (match.length() > 0) {
+                    match.append(' ');
+                }
+                match.append('"').append(token).append("\"*");
+            }
+        }
+        return match.length() == 0 ? null : match.toString();
+    }
+
+    static List<Pet> readPets(ResultSet rs) throws SQLException {
+        List<Pet> pets = new ArrayList<>();
+        while (rs.next()) {
+            pets.add(mapPet(rs));
+        }
+        return pets;
+    }
+
+    static Pet mapPet(ResultSet rs) throws SQLException {
+        return new Pet(
+                rs.getInt("id"),
+                rs.getString("name"),
+                rs.getString("species"),
+                rs.getString("breed"),
+                rs.getInt("age"),
+                rs.getString("gender"),
+                rs.getString("size"),
+                rs.getString("color"),
+                rs.getString("description"),
+                rs.getString("image_url"),
+                rs.getString("status"));
+    }
+}
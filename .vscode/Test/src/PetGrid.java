@@ -0,0 +1,445 @@
+import javax.swing.*;
+import javax.swing.event.ChangeListener;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.List;
+import java.util.function.Consumer;
+
+class PetGrid extends JPanel implements Scrollable {
+    private static final Color BACKGROUND_COLOR = new Color(245, 247, 250);
+    private static final Color MESSAGE_COLOR = new Color(100, 100, 100);
+    private static final int CARD_WIDTH = 350;
+    private static final int CARD_HEIGHT = 500;
+    private static final int GAP = 20;
+    private static final int PADDING = 20;
+    static final int PAGE_SIZE = 60;
+    private static final int PREFETCH_ROWS = 2;
+
+    interface PageLoader {
+        List<Pet> loadPage(Pet last, int offset, int limit) throws SQLException;
+    }
+
+    private final String taskKey;
+    private final Consumer<Pet> onAdopt;
+    private final List<Pet> pets = new ArrayList<>();
+    private final Map<Integer, PetCard> activeCards = new HashMap<>();
+    private final Deque<PetCard> freeCards = new ArrayDeque<>();
+    private final ChangeListener viewportListener = e -> {
+        doLayout();
+        repaint();
+    };
+
+    private PageLoader loader;
+    private int generation;
+    private boolean loading;
+    private boolean exhausted = true;
+    private String message;
+
+    public PetGrid(String taskKey, Consumer<Pet> onAdopt) {
+        super(null);
+        this.taskKey = taskKey;
+        this.onAdopt = onAdopt;
+        setBackground(BACKGROUND_COLOR);
+    }
+
+    public void reset(PageLoader loader) {
+        this.loader = loader;
+        generation++;
+        pets.clear();
+        recycleAll();
+        loading = false;
+        exhausted = false;
+        message = null;
+        loadNextPage();
+        revalidate();
+        repaint();
+    }
+
+    private void loadNextPage() {
+        if (loading || exhausted || loader == null) {
+            return;
+        }
+
+        loading = true;
+        int requestGeneration = generation;
+        PageLoader pageLoader = loader;
+        Pet last = pets.isEmpty() ? null : pets.get(pets.size() - 1);
+        int offset = pets.size();
+
+        DbExecutor.submit(taskKey, () -> pageLoader.loadPage(last, offset, PAGE_SIZE), page -> {
+            if (requestGeneration != generation) {
+                return;
+            }
+            loading = false;
+            exhausted = page.size() < PAGE_SIZE;
+            pets.addAll(page);
+            revalidate();
+            repaint();
+        }, e -> {
+            if (requestGeneration != generation) {
+                return;
+            }
+            e.printStackTrace();
+            loading = false;
+            exhausted = true;
+            message = "Failed to load pets: " + e.getMessage();
+            repaint();
+        });
+    }
+
+    private int getColumns() {
+        int width = getWidth() - PADDING * 2 + GAP;
+        return Math.max(1, width / (CARD_WIDTH + GAP));
+    }
+
+    private int getRowCount(int columns) {
+        return (pets.size() + columns - 1) / columns;
+    }
+
+    @Override
+    public Dimension getPreferredSize() {
+        int columns = getColumns();
+        int rows = getRowCount(columns);
+        int height = PADDING * 2 + Math.max(0, rows * (CARD_HEIGHT + GAP) - GAP);
+        return new Dimension(PADDING * 2 + CARD_WIDTH, Math.max(height, CARD_HEIGHT));
+    }
+
+    @Override
+    public void setBounds(int x, int y, int width, int height) {
+        boolean resized = width != getWidth();
+        super.setBounds(x, y, width, height);
+        if (resized) {
+            revalidate();
+        }
+    }
+
+    @Override
+    public void doLayout() {
+        int columns = getColumns();
+        int cellWidth = (getWidth() - PADDING * 2 - GAP * (columns - 1)) / columns;
+        Rectangle visible = getVisibleRect();
+
+        int firstRow = Math.max(0, (visible.y - PADDING) / (CARD_HEIGHT + GAP));
+        int lastRow = (visible.y + visible.height - PADDING) / (CARD_HEIGHT + GAP);
+        int first = firstRow * columns;
+        int last = Math.min(pets.size() - 1, (lastRow + 1) * columns - 1);
+
+        Iterator<Map.Entry<Integer, PetCard>> it = activeCards.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Integer, PetCard> entry = it.next();
+            int index = entry.getKey();
+            if (index < first || index > last || pets.get(index) != entry.getValue().getPet()) {
+                entry.getValue().setVisible(false);
+                freeCards.push(entry.getValue());
+                it.remove();
+            }
+        }
+
+        for (int index = first; index <= last; index++) {
+            PetCard card = activeCards.get(index);
+            if (card == null) {
+                card = freeCards.isEmpty() ? createCard() : freeCards.pop();
+                card.bind(pets.get(index));
+                card.setVisible(true);
+                activeCards.put(index, card);
+            }
+            int row = index / columns;
+            int column = index % columns;
+            card.setBounds(PADDING + column * (cellWidth + GAP), PADDING + row * (CARD_HEIGHT + GAP),
+                    cellWidth, CARD_HEIGHT);
+        }
+
+        if (lastRow + PREFETCH_ROWS >= getRowCount(columns)) {
+            loadNextPage();
+        }
+    }
+
+    private PetCard createCard() {
+        PetCard card = new PetCard(onAdopt);
+        add(card);
+        return card;
+    }
+
+    private void recycleAll() {
+        for (PetCard card : activeCards.values()) {
+            card.setVisible(false);
+            freeCards.push(card);
+        }
+        activeCards.clear();
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
+
+        String text = message;
+        if (text == null && pets.isEmpty()) {
+            text = loading ? "Loading pets..." : "No pets available for adoption right now.";
+        }
+        if (text != null) {
+            Graphics2D g2d = (Graphics2D) g;
+            g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            g2d.setFont(RenderCache.font(Font.PLAIN, 16));
+            g2d.setColor(MESSAGE_COLOR);
+            FontMetrics fm = g2d.getFontMetrics();
+            g2d.drawString(text, (getWidth() - fm.stringWidth(text)) / 2, PADDING * 3);
+        }
+    }
+
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        if (getParent() instanceof JViewport viewport) {
+            viewport.addChangeListener(viewportListener);
+        }
+    }
+
+    @Override
+    public void removeNotify() {
+        if (getParent() instanceof JViewport viewport) {
+            viewport.removeChangeListener(viewportListener);
+        }
+        super.removeNotify();
+    }
+
+    @Override
+    public Dimension getPreferredScrollableViewportSize() {
+        return getPreferredSize();
+    }
+
+    @Override
+    public int getScrollableUnitIncrement(Rectangle visibleRect, int orientation, int direction) {
+        return 16;
+    }
+
+    @Override
+    public int getScrollableBlockIncrement(Rectangle visibleRect, int orientation, int direction) {
+        return orientation == SwingConstants.VERTICAL ? visibleRect.height : visibleRect.width;
+    }
+
+    @Override
+    public boolean getScrollableTracksViewportWidth() {
+        return true;
+    }
+
+    @Override
+    public boolean getScrollableTracksViewportHeight() {
+        return false;
+    }
+}
+
+class PetCard extends JPanel {
+    private static final Color PRIMARY_COLOR = new Color(102, 126, 234);
+    private static final Color TEXT_COLOR = new Color(30, 60, 114);
+
+    private final JLabel imageLabel;
+    private final JLabel nameLabel;
+    private final JLabel speciesLabel, ageLabel, genderLabel, sizeLabel;
+    private final JTextArea descArea;
+    private final JButton adoptBtn;
+    private Pet pet;
+
+    public PetCard(Consumer<Pet> onAdopt) {
+        super(new BorderLayout());
+        setBackground(Color.WHITE);
+        setBorder(BorderFactory.createCompoundBorder(
+                BorderFactory.createLineBorder(new Color(200, 200, 200), 1),
+                BorderFactory.createEmptyBorder(0, 0, 15, 0)));
+
+        imageLabel = new JLabel("PET", SwingConstants.CENTER);
+        imageLabel.setFont(RenderCache.font(Font.BOLD, 60));
+        imageLabel.setPreferredSize(new Dimension(350, 250));
+        imageLabel.setOpaque(true);
+        imageLabel.setBackground(new Color(230, 235, 245));
+        add(imageLabel, BorderLayout.NORTH);
+
+        JPanel infoPanel = new JPanel();
+        infoPanel.setLayout(new BoxLayout(infoPanel, BoxLayout.Y_AXIS));
+        infoPanel.setBackground(Color.WHITE);
+        infoPanel.setBorder(BorderFactory.createEmptyBorder(15, 15, 0, 15));
+
+        nameLabel = new JLabel();
+        nameLabel.setFont(RenderCache.font(Font.BOLD, 24));
+        nameLabel.setForeground(TEXT_COLOR);
+        infoPanel.add(nameLabel);
+
+        infoPanel.add(Box.createRigidArea(new Dimension(0, 10)));
+
+        JPanel detailsGrid = new JPanel(new GridLayout(2, 2, 10, 10));
+        detailsGrid.setBackground(Color.WHITE);
+        speciesLabel = createDetailLabel();
+        ageLabel = createDetailLabel();
+        genderLabel = createDetailLabel();
+        sizeLabel = createDetailLabel();
+        detailsGrid.add(speciesLabel);
+        detailsGrid.add(ageLabel);
+        detailsGrid.add(genderLabel);
+        detailsGrid.add(sizeLabel);
+        infoPanel.add(detailsGrid);
+
+        infoPanel.add(Box.createRigidArea(new Dimension(0, 10)));
+
+        descArea = new JTextArea();
+        descArea.setFont(RenderCache.font(Font.PLAIN, 13));
+        descArea.setLineWrap(true);
+        descArea.setWrapStyleWord(true);
+        descArea.setEditable(false);
+        descArea.setBackground(Color.WHITE);
+        descArea.setRows(3);
+        infoPanel.add(descArea);
+
+        infoPanel.add(Box.createRigidArea(new Dimension(0, 10)));
+
+        adoptBtn = new JButton();
+        adoptBtn.setFont(RenderCache.font(Font.BOLD, 14));
+        adoptBtn.setBackground(PRIMARY_COLOR);
+        adoptBtn.setForeground(Color.WHITE);
+        adoptBtn.setFocusPainted(false);
+        adoptBtn.setBorderPainted(false);
+        adoptBtn.setOpaque(true);
+        adoptBtn.setCursor(new Cursor(Cursor.HAND_CURSOR));
+        adoptBtn.addActionListener(e -> onAdopt.accept(pet));
+        infoPanel.add(adoptBtn);
+
+        add(infoPanel, BorderLayout.CENTER);
+    }
+
+    public void bind(Pet pet) {
+        this.pet = pet;
+        nameLabel.setText(pet.getName());
+        speciesLabel.setText(pet.getSpecies());
+        ageLabel.setText(pet.getAge() + " years");
+        genderLabel.setText(pet.getGender());
+        sizeLabel.setText(pet.getSize());
+        descArea.setText(pet.getDescription());
+        descArea.setCaretPosition(0);
+        adoptBtn.setText("Adopt " + pet.getName());
+        bindImage(pet);
+    }
+
+    private void bindImage(Pet boundPet) {
+        BufferedImage image = ImageCache.getIfPresent(boundPet.getImageUrl(), ImageCache.CARD_WIDTH,
+                ImageCache.CARD_HEIGHT);
+        showImage(image);
+
+        if (image == null) {
+            ImageCache.load(boundPet.getImageUrl(), ImageCache.CARD_WIDTH, ImageCache.CARD_HEIGHT, loaded -> {
+                if (pet == boundPet) {
+                    showImage(loaded);
+                }
+            });
+        }
+    }
+
+    private void showImage(BufferedImage image) {
+        if (image != null) {
+            imageLabel.setIcon(new ImageIcon(image));
+            imageLabel.setText(null);
+        } else {
+            imageLabel.setIcon(null);
+            imageLabel.setText("PET");
+        }
+    }
+
+    public Pet getPet() {
+        return pet;
+    }
+
+    private JLabel createDetailLabel() {
+        JLabel label = new JLabel();
+        label.setFont(RenderCache.font(Font.BOLD, 12));
+        label.setBackground(new Color(248, 249, 250));
+        label.setOpaque(true);
+        label.setBorder(BorderFactory.createEmptyBorder(8, 10, 8, 10));
+        return label;
+    }
+}
+
+class FacetPanel extends JPanel {
+    private static final Color BACKGROUND_COLOR = new Color(245, 247, 250);
+    private static final Color TEXT_COLOR = new Color(30, 60, 114);
+
+    private final Map<PetFilter.Facet, Set<String>> selected = new EnumMap<>(PetFilter.Facet.class);
+    private final Runnable onChange;
+    private FacetCounts counts = new FacetCounts();
+
+    public FacetPanel(Runnable onChange) {
+        this.onChange = onChange;
+        setLayout(new BoxLayout(this, BoxLayout.Y_AXIS));
+        setBackground(BACKGROUND_COLOR);
+        setBorder(BorderFactory.createEmptyBorder(20, 20, 20, 10));
+        for (PetFilter.Facet facet : PetFilter.Facet.values()) {
+            selected.put(facet, new TreeSet<>());
+        }
+        rebuild();
+    }
+
+    public Map<PetFilter.Facet, Set<String>> getSelection() {
+        Map<PetFilter.Facet, Set<String>> copy = new EnumMap<>(PetFilter.Facet.class);
+        selected.forEach((facet, values) -> copy.put(facet, new TreeSet<>(values)));
+        return copy;
+    }
+
+    public void setCounts(FacetCounts counts) {
+        this.counts = counts;
+        rebuild();
+    }
+
+    private void rebuild() {
+        removeAll();
+
+        boolean anySelected = false;
+        for (PetFilter.Facet facet : PetFilter.Facet.values()) {
+            JLabel header = new JLabel(facet.label);
+            header.setFont(RenderCache.font(Font.BOLD, 15));
+            header.setForeground(TEXT_COLOR);
+            header.setAlignmentX(Component.LEFT_ALIGNMENT);
+            add(header);
+            add(Box.createRigidArea(new Dimension(0, 5)));
+
+            Map<String, Integer> values = new LinkedHashMap<>(counts.get(facet));
+            for (String value : selected.get(facet)) {
+                values.putIfAbsent(value, 0);
+                anySelected = true;
+            }
+
+            for (Map.Entry<String, Integer> entry : values.entrySet()) {
+                String value = entry.getKey();
+                JCheckBox checkBox = new JCheckBox(
+                        String.format("%s (%,d)", FacetCounts.label(facet, value), entry.getValue()));
+                checkBox.setFont(RenderCache.font(Font.PLAIN, 13));
+                checkBox.setBackground(BACKGROUND_COLOR);
+                checkBox.setAlignmentX(Component.LEFT_ALIGNMENT);
+                checkBox.setSelected(selected.get(facet).contains(value));
+                checkBox.setEnabled(entry.getValue() > 0 || checkBox.isSelected());
+                checkBox.addActionListener(e -> {
+                    if (checkBox.isSelected()) {
+                        selected.get(facet).add(value);
+                    } else {
+                        selected.get(facet).remove(value);
+                    }
+                    onChange.run();
+                });
+                add(checkBox);
+            }
+            add(Box.createRigidArea(new Dimension(0, 15)));
+        }
+
+        if (anySelected) {
+            JButton clearBtn = new JButton("Clear filters");
+            clearBtn.setFont(RenderCache.font(Font.BOLD, 12));
+            clearBtn.setAlignmentX(Component.LEFT_ALIGNMENT);
+            clearBtn.setCursor(new Cursor(Cursor.HAND_CURSOR));
+            clearBtn.addActionListener(e -> {
+                selected.values().forEach(Set::clear);
+                onChange.run();
+            });
+            add(clearBtn);
+        }
+
+        revalidate();
+        repaint();
+    }
+}
@@ -0,0 +1,633 @@
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.*;
+import java.util.*;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class PetRecord {
+    final String name;
+    final String species;
+    final String breed;
+    final int age;
+    final String gender;
+    final String size;
+    final String color;
+    final String description;
+    final String imageUrl;
+    final ImageAsset image;
+
+    PetRecord(String name, String species, String breed, int age, String gender, String size, String color,
+            String description, String imageUrl, ImageAsset image) {
+        this.name = name;
+        this.species = species;
+        this.breed = breed;
+        this.age = age;
+        this.gender = gender;
+        this.size = size;
+        this.color = color;
+        this.description = description;
+        this.imageUrl = imageUrl;
+        this.image = image;
+    }
+}
+
+class ImportProgress {
+    private final long recordsRead;
+    private final long imported;
+    private final long rejected;
+    private final long bytesRead;
+    private final long totalBytes;
+    private final long elapsedNanos;
+    private final List<String> errors;
+
+    ImportProgress(long recordsRead, long imported, long rejected, long bytesRead, long totalBytes,
+            long elapsedNanos, List<String> errors) {
+        this.recordsRead = recordsRead;
+        this.imported = imported;
+        this.rejected = rejected;
+        this.bytesRead = bytesRead;
+        this.totalBytes = totalBytes;
+        this.elapsedNanos = elapsedNanos;
+        this.errors = errors;
+    }
+
+    public long getRecordsRead() {
+        return recordsRead;
+    }
+
+    public long getImported() {
+        return imported;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    public double getFraction() {
+        return totalBytes <= 0 ? 0 : Math.min(1.0, (double) bytesRead / totalBytes);
+    }
+
+    public long getElapsedMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+    }
+
+    public double getRecordsPerSecond() {
+        return elapsedNanos == 0 ? 0 : imported * 1e9 / elapsedNanos;
+    }
+
+    public List<String> getErrors() {
+        return errors;
+    }
+}
+
+interface ImportListener {
+    void onProgress(ImportProgress progress);
+}
+
+interface RecordReader extends Closeable {
+    Map<String, String> next() throws IOException;
+}
+
+// RFC 4180 CSV: the first record is the header, fields may be quoted and quoted fields may
+// contain commas, doubled quotes and line breaks.
+class CsvRecordReader implements RecordReader {
+    private final Reader in;
+    private final List<String> header;
+
+    CsvRecordReader(Reader in) throws IOException {
+        this.in = in;
+        List<String> names = readRow();
+        if (names == null) {
+            throw new IOException("CSV file is empty");
+        }
+        header = new ArrayList<>();
+        for (String name : names) {
+            header.add(name.trim().toLowerCase(Locale.ROOT));
+        }
+    }
+
+    @Override
+    public Map<String, String> next() throws IOException {
+        List<String> row;
+        do {
+            row = readRow();
+            if (row == null) {
+                return null;
+            }
+        } while (row.size() == 1 && row.get(0).isEmpty());
+
+        Map<String, String> record = new HashMap<>();
+        for (int i = 0; i < header.size() && i < row.size(); i++) {
+            record.put(header.get(i), row.get(i));
+        }
+        return record;
+    }
+
+    private List<String> readRow() throws IOException {
+        int c = in.read();
+        if (c == -1) {
+            return null;
+        }
+
+        List<String> row = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new IOException("Unterminated quoted field");
+                }
+                if (c == '"') {
+                    int next = in.read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        c = next;
+                        continue;
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+            } else if (c == ',') {
+                row.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n' || c == -1) {
+                row.add(field.toString());
+                return row;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+            c = in.read();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
+
+// Reads either a top-level array of flat objects or one object after another (JSON Lines)
+// without building the whole document in memory.
+class JsonRecordReader implements RecordReader {
+    private final PushbackReader in;
+    private boolean inArray;
+    private boolean started;
+    private boolean finished;
+
+    JsonRecordReader(Reader in) {
+        this.in = new PushbackReader(in, 1);
+    }
+
+    @Override
+    public Map<String, String> next() throws IOException {
+        if (finished) {
+            return null;
+        }
+
+        int c = skipWhitespace();
+        if (!started) {
+            started = true;
+            if (c == '[') {
+                inArray = true;
+                c = skipWhitespace();
+                if (c == ']') {
+                    finished = true;
+                    return null;
+                }
+            }
+        } else if (inArray) {
+            if (c == ']') {
+                finished = true;
+                return null;
+            }
+            expect(c, ',');
+            c = skipWhitespace();
+        }
+
+        if (c == -1) {
+            if (inArray) {
+                throw new IOException("Unexpected end of JSON array");
+            }
+            finished = true;
+            return null;
+        }
+        expect(c, '{');
+
+        Map<String, String> record = new HashMap<>();
+        c = skipWhitespace();
+        if (c == '}') {
+            return record;
+        }
+        while (true) {
+            expect(c, '"');
+            String key = readString().trim().toLowerCase(Locale.ROOT);
+            expect(skipWhitespace(), ':');
+            record.put(key, readValue(key));
+
+            c = skipWhitespace();
+            if (c == '}') {
+                return record;
+            }
+            expect(c, ',');
+            c = skipWhitespace();
+        }
+    }
+
+    private String readValue(String key) throws IOException {
+        int c = skipWhitespace();
+        if (c == '"') {
+            return readString();
+        }
+        if (c == '{' || c == '[') {
+            throw new IOException("Nested value for \"" + key + "\" is not supported");
+        }
+
+        StringBuilder literal = new StringBuilder();
+        while (c != -1 && c != ',' && c != '}' && c != ']' && !Character.isWhitespace(c)) {
+            literal.append((char) c);
+            c = in.read();
+        }
+        if (c != -1) {
+            in.unread(c);
+        }
+
+        String value = literal.toString();
+        if (value.equals("null")) {
+            return null;
+        }
+        if (value.isEmpty()) {
+            throw new IOException("Missing value for \"" + key + "\"");
+        }
+        return value;
+    }
+
+    private String readString() throws IOException {
+        StringBuilder value = new StringBuilder();
+        while (true) {
+            int c = in.read();
+            if (c == -1) {
+                throw new IOException("Unterminated JSON string");
+            }
+            if (c == '"') {
+                return value.toString();
+            }
+            if (c != '\\') {
+                value.append((char) c);
+                continue;
+            }
+
+            int escaped = in.read();
+            switch (escaped) {
+                case 'n' -> value.append('\n');
+                case 't' -> value.append('\t');
+                case 'r' -> value.append('\r');
+                case 'b' -> value.append('\b');
+                case 'f' -> value.append('\f');
+                case 'u' -> {
+                    char[] hex = new char[4];
+                    for (int i = 0; i < 4; i++) {
+                        int h = in.read();
+                        if (h == -1) {
+                            throw new IOException("Unterminated unicode escape");
+                        }
+                        hex[i] = (char) h;
+                    }
+                    try {
+                        value.append((char) Integer.parseInt(new String(hex), 16));
+                    } catch (NumberFormatException e) {
+                        throw new IOException("Invalid unicode escape \\u" + new String(hex));
+                    }
+                }
+                case -1 -> throw new IOException("Unterminated JSON string");
+                default -> value.append((char) escaped);
+            }
+        }
+    }
+
+    private int skipWhitespace() throws IOException {
+        int c = in.read();
+        while (c != -1 && Character.isWhitespace(c)) {
+            c = in.read();
+        }
+        return c;
+    }
+
+    private static void expect(int actual, char expected) throws IOException {
+        if (actual != expected) {
+            throw new IOException("Expected '" + expected + "' but found "
+                    + (actual == -1 ? "end of file" : "'" + (char) actual + "'"));
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
+
+class PetImporter {
+    private static final int CHUNK_SIZE = 2000;
+    private static final int MAX_PENDING_WRITES = 2;
+    private static final int MAX_REPORTED_ERRORS = 100;
+    private static final int MAX_AGE = 50;
+    private static final List<String> SPECIES = List.of("Dog", "Cat", "Bird", "Rabbit", "Other");
+    private static final List<String> GENDERS = List.of("Male", "Female");
+    private static final List<String> SIZES = List.of("Small", "Medium", "Large");
+
+    private static final String INSERT_SQL = "INSERT INTO pets (name, species, breed, age, gender, size, color, description, image_url, image_hash) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final Path file;
+    private final int workers = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+    private final List<String> errors = Collections.synchronizedList(new ArrayList<>());
+    private final AtomicInteger rejected = new AtomicInteger();
+    private volatile boolean cancelled;
+
+    private long recordsRead;
+    private long imported;
+    private long startNanos;
+    private long totalBytes;
+    private CountingInputStream counter;
+
+    public PetImporter(Path file) {
+        this.file = file;
+    }
+
+    public void cancel() {
+        cancelled = true;
+    }
+
+    // Records are read on the calling thread, validated and their images ingested on a worker
+    // pool a chunk at a time, and each chunk is inserted as one batched write command. At most
+    // a few chunks are in flight so memory stays flat however large the file is.
+    public ImportProgress run(ImportListener listener) throws IOException, SQLException {
+        startNanos = System.nanoTime();
+        totalBytes = Files.size(file);
+        counter = new CountingInputStream(new BufferedInputStream(Files.newInputStream(file), 1 << 16));
+
+        ExecutorService pool = Executors.newFixedThreadPool(workers, new ThreadFactory() {
+            private final AtomicInteger count = new AtomicInteger();
+
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread thread = new Thread(r, "pet-import-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+
+        Deque<Future<List<PetRecord>>> validating = new ArrayDeque<>();
+        Deque<CompletableFuture<Integer>> writing = new ArrayDeque<>();
+        try (RecordReader reader = openReader()) {
+            List<Map<String, String>> chunk = new ArrayList<>(CHUNK_SIZE);
+            Map<String, String> record;
+            while (!cancelled && (record = reader.next()) != null) {
+                recordsRead++;
+                chunk.add(record);
+                if (chunk.size() == CHUNK_SIZE) {
+                    long firstRecord = recordsRead - chunk.size() + 1;
+                    List<Map<String, String>> records = chunk;
+                    validating.add(pool.submit(() -> validateChunk(records, firstRecord)));
+                    chunk = new ArrayList<>(CHUNK_SIZE);
+
+                    while (validating.size() > workers) {
+                        write(validating.poll(), writing, listener);
+                    }
+                }
+            }
+
+            if (!cancelled && !chunk.isEmpty()) {
+                long firstRecord = recordsRead - chunk.size() + 1;
+                List<Map<String, String>> records = chunk;
+                validating.add(pool.submit(() -> validateChunk(records, firstRecord)));
+            }
+            while (!validating.isEmpty()) {
+                write(validating.poll(), writing, listener);
+            }
+            while (!writing.isEmpty()) {
+                awaitWrite(writing.poll(), listener);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        return snapshot();
+    }
+
+    private RecordReader openReader() throws IOException {
+        Reader in = new BufferedReader(new InputStreamReader(counter, StandardCharsets.UTF_8), 1 << 16);
+        PushbackReader bomAware = new PushbackReader(in, 1);
+        int first = bomAware.read();
+        if (first != -1 && first != '\uFEFF') {
+            bomAware.unread(first);
+        }
+
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        return name.endsWith(".json") || name.endsWith(".jsonl")
+                ? new JsonRecordReader(bomAware)
+                : new CsvRecordReader(bomAware);
+    }
+
+    private void write(Future<List<PetRecord>> validated, Deque<CompletableFuture<Integer>> writing,
+            ImportListener listener) throws SQLException {
+        List<PetRecord> records;
+        try {
+            records = validated.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while importing", e);
+        } catch (ExecutionException e) {
+            throw new SQLException("Import failed: " + e.getCause().getMessage(), e.getCause());
+        }
+
+        if (!records.isEmpty()) {
+            writing.add(WriteQueue.submit(conn -> insertBatch(conn, records)));
+        }
+        while (writing.size() > MAX_PENDING_WRITES) {
+            awaitWrite(writing.poll(), listener);
+        }
+        listener.onProgress(snapshot());
+    }
+
+    private void awaitWrite(CompletableFuture<Integer> write, ImportListener listener) throws SQLException {
+        try {
+            imported += write.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while importing", e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof SQLException sqlException
+                    ? sqlException
+                    : new SQLException("Import failed: " + e.getCause().getMessage(), e.getCause());
+        }
+        listener.onProgress(snapshot());
+    }
+
+    private List<PetRecord> validateChunk(List<Map<String, String>> records, long firstRecord) {
+        List<PetRecord> valid = new ArrayList<>(records.size());
+        for (int i = 0; i < records.size(); i++) {
+            if (cancelled) {
+                break;
+            }
+            try {
+                valid.add(validate(records.get(i)));
+            } catch (IllegalArgumentException e) {
+                reject(firstRecord + i, e.getMessage());
+            }
+        }
+        return valid;
+    }
+
+    private PetRecord validate(Map<String, String> record) {
+        String name = required(record, "name");
+        if (name.length() > 100) {
+            throw new IllegalArgumentException("name is longer than 100 characters");
+        }
+
+        String speciesValue = required(record, "species");
+        String species = SPECIES.stream()
+                .filter(s -> s.equalsIgnoreCase(speciesValue))
+                .findFirst()
+                .orElse("Other");
+        String gender = oneOf(record, "gender", GENDERS);
+        String size = oneOf(record, "size", SIZES);
+
+        int age;
+        try {
+            age = Integer.parseInt(required(record, "age"));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("age must be a whole number");
+        }
+        if (age < 0 || age > MAX_AGE) {
+            throw new IllegalArgumentException("age must be between 0 and " + MAX_AGE);
+        }
+
+        String breed = optional(record, "breed");
+        String color = optional(record, "color");
+        String description = optional(record, "description");
+
+        String imageUrl = optional(record, "image_url");
+        if (imageUrl.isEmpty()) {
+            imageUrl = optional(record, "image");
+        }
+
+        ImageAsset image = null;
+        if (!imageUrl.isEmpty() && !imageUrl.startsWith("http://") && !imageUrl.startsWith("https://")) {
+            Path source = file.toAbsolutePath().getParent().resolve(imageUrl);
+            try {
+                image = ImageStore.ingest(source);
+                imageUrl = image.getPath();
+            } catch (IOException e) {
+                throw new IllegalArgumentException("image " + imageUrl + " could not be read: " + e.getMessage());
+            }
+        }
+
+        return new PetRecord(name, species, breed.isEmpty() ? "Mixed" : breed, age, gender, size,
+                color.isEmpty() ? "N/A" : color, description, imageUrl.isEmpty() ? null : imageUrl, image);
+    }
+
+    private static String required(Map<String, String> record, String field) {
+        String value = optional(record, field);
+        if (value.isEmpty()) {
+            throw new IllegalArgumentException(field + " is required");
+        }
+        return value;
+    }
+
+    private static String optional(Map<String, String> record, String field) {
+        String value = record.get(field);
+        return value == null ? "" : value.trim();
+    }
+
+    private static String oneOf(Map<String, String> record, String field, List<String> allowed) {
+        String value = required(record, field);
+        for (String option : allowed) {
+            if (option.equalsIgnoreCase(value) || option.substring(0, 1).equalsIgnoreCase(value)) {
+                return option;
+            }
+        }
+        throw new IllegalArgumentException(field + " must be one of " + String.join(", ", allowed));
+    }
+
+    private void reject(long recordNumber, String message) {
+        rejected.incrementAndGet();
+        synchronized (errors) {
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add("Record " + recordNumber + ": " + message);
+            }
+        }
+    }
+
+    private ImportProgress snapshot() {
+        List<String> reported;
+        synchronized (errors) {
+            reported = new ArrayList<>(errors);
+        }
+        return new ImportProgress(recordsRead, imported, rejected.get(), counter.count, totalBytes,
+                System.nanoTime() - startNanos, reported);
+    }
+
+    public static int insertBatch(Connection conn, List<PetRecord> records) throws SQLException {
+        List<ImageAsset> images = new ArrayList<>();
+        for (PetRecord record : records) {
+            if (record.image != null) {
+                images.add(record.image);
+            }
+        }
+        ImageStore.register(conn, images);
+
+        try (PreparedStatement pstmt = conn.prepareStatement(INSERT_SQL)) {
+            for (PetRecord record : records) {
+                pstmt.setString(1, record.name);
+                pstmt.setString(2, record.species);
+                pstmt.setString(3, record.breed);
+                pstmt.setInt(4, record.age);
+                pstmt.setString(5, record.gender);
+                pstmt.setString(6, record.size);
+                pstmt.setString(7, record.color);
+                pstmt.setString(8, record.description);
+                pstmt.setString(9, record.imageUrl);
+                pstmt.setString(10, record.image == null ? null : record.image.getHash());
+                pstmt.addBatch();
+            }
+
+            int inserted = 0;
+            for (int count : pstmt.executeBatch()) {
+                inserted += Math.max(count, 0);
+            }
+            return inserted;
+        }
+    }
+
+    private static class CountingInputStream extends FilterInputStream {
+        private volatile long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+    }
+}
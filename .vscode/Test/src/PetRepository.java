@@ -0,0 +1,161 @@
+import java.sql.*;
+import java.util.*;
+import java.util.List;
+
+class PetRepository {
+    private static final int MAX_CACHED_QUERIES = 256;
+
+    interface Query<T> {
+        T run(Connection conn) throws SQLException;
+    }
+
+    // Room for every cached query to be a full page of distinct pets. Resolving a cached query
+    // touches each of its pets, so the ones still in use stay; a query that lost one is reloaded.
+    private static final int MAX_CACHED_PETS = MAX_CACHED_QUERIES * PetGrid.PAGE_SIZE;
+
+    private static final Map<Integer, Pet> pets = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, Pet> eldest) {
+            return size() > MAX_CACHED_PETS;
+        }
+    };
+    private static final Map<List<Object>, List<Integer>> queries = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<List<Object>, List<Integer>> eldest) {
+            return size() > MAX_CACHED_QUERIES;
+        }
+    };
+    private static final Map<PetFilter, FacetCounts> facets = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<PetFilter, FacetCounts> eldest) {
+            return size() > MAX_CACHED_QUERIES;
+        }
+    };
+    private static long version;
+
+    static {
+        DatabaseManager.addChangeListener(PetRepository::onChange);
+    }
+
+    private PetRepository() {
+    }
+
+    public static Pet get(int id) throws SQLException {
+        synchronized (PetRepository.class) {
+            Pet cached = pets.get(id);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        List<Pet> loaded = load(List.of("id", id), conn -> {
+            try (PreparedStatement pstmt = conn.prepareStatement("SELECT * FROM pets WHERE id = ?")) {
+                pstmt.setInt(1, id);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    return PetCatalog.readPets(rs);
+                }
+            }
+        });
+        return loaded.isEmpty() ? null : loaded.get(0);
+    }
+
+    public static List<Pet> loadAvailablePage(PetFilter filter, int afterId, int limit) throws SQLException {
+        return load(List.of("available", filter, afterId, limit),
+                conn -> PetCatalog.loadAvailablePage(conn, filter, afterId, limit));
+    }
+
+    public static List<Pet> search(PetFilter filter, int offset, int limit) throws SQLException {
+        return load(List.of("search", filter, offset, limit), conn -> PetCatalog.search(conn, filter, offset, limit));
+    }
+
+    public static FacetCounts loadFacetCounts(PetFilter filter) throws SQLException {
+        synchronized (PetRepository.class) {
+            FacetCounts cached = facets.get(filter);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        long seen = currentVersion();
+        FacetCounts counts;
+        try (Connection conn = DatabaseManager.getReadConnection()) {
+            counts = PetCatalog.loadFacetCounts(conn, filter);
+        }
+
+        synchronized (PetRepository.class) {
+            if (version == seen) {
+                facets.put(filter, counts);
+            }
+        }
+        return counts;
+    }
+
+    // Query results are cached as id lists over the shared Pet instances, so a changed row
+    // only has to be dropped once no matter how many cached pages contain it.
+    private static List<Pet> load(List<Object> key, Query<List<Pet>> query) throws SQLException {
+        synchronized (PetRepository.class) {
+            List<Pet> cached = resolve(queries.get(key));
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        long seen = currentVersion();
+        List<Pet> loaded;
+        try (Connection conn = DatabaseManager.getReadConnection()) {
+            loaded = query.run(conn);
+        }
+
+        // A change committed while the query ran may or may not be in the result, so it is not cached.
+        synchronized (PetRepository.class) {
+            if (version == seen) {
+                List<Pet> result = new ArrayList<>(loaded.size());
+                List<Integer> ids = new ArrayList<>(loaded.size());
+                for (Pet pet : loaded) {
+                    result.add(pets.computeIfAbsent(pet.getId(), id -> pet));
+                    ids.add(pet.getId());
+                }
+                queries.put(key, ids);
+                return result;
+            }
+        }
+        return loaded;
+    }
+
+    private static List<Pet> resolve(List<Integer> ids) {
+        if (ids == null) {
+            return null;
+        }
+
+        List<Pet> result = new ArrayList<>(ids.size());
+        for (int id : ids) {
+            Pet pet = pets.get(id);
+            if (pet == null) {
+                return null;
+            }
+            result.add(pet);
+        }
+        return result;
+    }
+
+    private static synchronized long currentVersion() {
+        return version;
+    }
+
+    // Changed rows are evicted by id; cached lists and facet counts are cleared outright because
+    // an insert or status change can move pets into or out of any of them.
+    private static void onChange(String table, Set<Long> rowIds) {
+        if (!table.equals("pets")) {
+            return;
+        }
+
+        synchronized (PetRepository.class) {
+            version++;
+            for (long rowId : rowIds) {
+                pets.remove((int) rowId);
+            }
+            queries.clear();
+            facets.clear();
+        }
+    }
+}
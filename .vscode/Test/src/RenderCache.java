@@ -0,0 +1,122 @@
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.util.*;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+// Pre-rendered gradients, buttons and badges for the custom-painted components, so a repaint is
+// one image copy instead of gradient fills and text layout. Tiles are keyed by everything that
+// affects their pixels, size and screen scale included, so a resized component simply asks for
+// a new tile and the stale ones age out. Images are compatible with the screen, which lets
+// Java2D keep them in video memory where it can. Only used from the EDT.
+class RenderCache {
+    public static final String FONT_FAMILY = "Segoe UI";
+
+    private static final long MAX_MEMORY_BYTES = 8L * 1024 * 1024;
+
+    private static final Map<Integer, Font> fonts = new ConcurrentHashMap<>();
+    private static final Map<List<Object>, BufferedImage> tiles = new LinkedHashMap<>(32, 0.75f, true);
+    private static long memoryBytes;
+
+    private RenderCache() {
+    }
+
+    public static Font font(int style, int size) {
+        return fonts.computeIfAbsent(style << 16 | size, key -> new Font(FONT_FAMILY, style, size));
+    }
+
+    // A left-to-right gradient, or top-left to bottom-right when diagonal.
+    public static Image gradient(GraphicsConfiguration gc, Color from, Color to, int width, int height,
+            boolean diagonal) {
+        int transparency = from.getAlpha() == 255 && to.getAlpha() == 255 ? Transparency.OPAQUE
+                : Transparency.TRANSLUCENT;
+        return tile(gc, List.of("gradient", from, to, diagonal), width, height, transparency, g -> {
+            g.setPaint(new GradientPaint(0, 0, from, width, diagonal ? height : 0, to));
+            g.fillRect(0, 0, width, height);
+        });
+    }
+
+    public static Image roundedGradient(GraphicsConfiguration gc, Color from, Color to, int width, int height) {
+        return tile(gc, List.of("roundedGradient", from, to), width, height, Transparency.TRANSLUCENT, g -> {
+            g.setPaint(new GradientPaint(0, 0, from, width, 0, to));
+            g.fillRoundRect(0, 0, width, height, height, height);
+        });
+    }
+
+    public static Image button(GraphicsConfiguration gc, String text, Font font, Color background, Color foreground,
+            int width, int height) {
+        List<Object> key = List.of("button", text, font, background, foreground);
+        return tile(gc, key, width, height, Transparency.TRANSLUCENT, g -> {
+            g.setColor(background);
+            g.fillRoundRect(0, 0, width, height, 12, 12);
+            drawCentered(g, text, font, foreground, width, height);
+        });
+    }
+
+    public static Image badge(GraphicsConfiguration gc, String text, Font font, Color background, int width,
+            int height) {
+        List<Object> key = List.of("badge", text, font, background);
+        return tile(gc, key, width, height, background.getTransparency(), g -> {
+            g.setColor(background);
+            g.fillRect(0, 0, width, height);
+            drawCentered(g, text, font, Color.WHITE, width, height);
+        });
+    }
+
+    // For content of the caller's own, drawn once per key and size.
+    public static Image custom(GraphicsConfiguration gc, List<Object> key, int width, int height,
+            Consumer<Graphics2D> painter) {
+        return tile(gc, List.of("custom", key), width, height, Transparency.TRANSLUCENT, painter);
+    }
+
+    // Opaque tiles are drawn as a plain copy; translucent ones have to be blended every time.
+    private static Image tile(GraphicsConfiguration gc, List<Object> key, int width, int height, int transparency,
+            Consumer<Graphics2D> painter) {
+        AffineTransform scale = gc.getDefaultTransform();
+        List<Object> fullKey = List.of(key, width, height, scale.getScaleX(), scale.getScaleY());
+
+        BufferedImage image = tiles.get(fullKey);
+        if (image != null) {
+            return image;
+        }
+
+        int pixelWidth = Math.max(1, (int) Math.ceil(width * scale.getScaleX()));
+        int pixelHeight = Math.max(1, (int) Math.ceil(height * scale.getScaleY()));
+        image = gc.createCompatibleImage(pixelWidth, pixelHeight, transparency);
+
+        Graphics2D g = image.createGraphics();
+        try {
+            g.scale(scale.getScaleX(), scale.getScaleY());
+            g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            painter.accept(g);
+        } finally {
+            g.dispose();
+        }
+
+        tiles.put(fullKey, image);
+        memoryBytes += bytes(image);
+        Iterator<BufferedImage> eldest = tiles.values().iterator();
+        while (memoryBytes > MAX_MEMORY_BYTES && tiles.size() > 1) {
+            memoryBytes -= bytes(eldest.next());
+            eldest.remove();
+        }
+        return image;
+    }
+
+    private static void drawCentered(Graphics2D g, String text, Font font, Color color, int width, int height) {
+        g.setFont(font);
+        g.setColor(color);
+        FontMetrics fm = g.getFontMetrics();
+        int x = (width - fm.stringWidth(text)) / 2;
+        int y = (height + fm.getAscent() - fm.getDescent()) / 2;
+        g.drawString(text, x, y);
+    }
+
+    private static long bytes(BufferedImage image) {
+        return (long) image.getWidth() * image.getHeight() * 4;
+    }
+}
@@ -0,0 +1,158 @@
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.zip.GZIPOutputStream;
+
+// Finished API responses, kept both plain and gzipped, so a repeated read is answered with a byte
+// copy and no SQLite work at all. Entries go when they are older than the TTL, when the byte
+// budget needs room (least recently used first), or when a committed write touches what they
+// cover. What an entry covers is its Scope: some tables, optionally narrowed to a range of row
+// ids, which is what lets a new adoption drop only the pages holding that pet.
+class ResponseCache implements ChangeListener {
+    static final long MAX_BYTES = Long.getLong("api.cache.bytes", 32L * 1024 * 1024);
+    static final long TTL_MS = Long.getLong("api.cache.ttl", 60_000L);
+
+    // A page that needed this much of the budget would push out many small ones.
+    private static final long MAX_ENTRY_BYTES = MAX_BYTES / 16;
+
+    record Scope(Set<String> tables, long afterId, long upToId) {
+        static Scope tables(String... tables) {
+            return new Scope(Set.of(tables), Long.MIN_VALUE, Long.MAX_VALUE);
+        }
+
+        // Pets with afterId < id <= upToId.
+        static Scope pets(long afterId, long upToId) {
+            return new Scope(Set.of("pets"), afterId, upToId);
+        }
+
+        boolean isAffectedBy(String table, Set<Long> rowIds) {
+            if (!tables.contains(table)) {
+                return false;
+            }
+            if (afterId == Long.MIN_VALUE && upToId == Long.MAX_VALUE) {
+                return true;
+            }
+            return rowIds.stream().anyMatch(id -> id > afterId && id <= upToId);
+        }
+    }
+
+    static final class Entry {
+        final byte[] plain;
+        final byte[] gzip;
+        final String etag;
+        final long expiresAt;
+        final Scope scope;
+
+        Entry(byte[] plain, byte[] gzip, String etag, long expiresAt, Scope scope) {
+            this.plain = plain;
+            this.gzip = gzip;
+            this.etag = etag;
+            this.expiresAt = expiresAt;
+            this.scope = scope;
+        }
+
+        long size() {
+            return plain.length + gzip.length;
+        }
+    }
+
+    private final Map<Object, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private final Set<String> watchedTables;
+    private long bytes;
+    private long version;
+    private long hits;
+    private long misses;
+
+    public ResponseCache(String... watchedTables) {
+        this.watchedTables = Set.of(watchedTables);
+        DatabaseManager.addChangeListener(this);
+    }
+
+    public synchronized Entry get(Object key) {
+        Entry entry = entries.get(key);
+        if (entry != null && entry.expiresAt <= System.currentTimeMillis()) {
+            remove(key);
+            entry = null;
+        }
+        if (entry == null) {
+            misses++;
+        } else {
+            hits++;
+        }
+        return entry;
+    }
+
+    // Read before loading what goes into put, so a write that lands in between is noticed.
+    public synchronized long version() {
+        return version;
+    }
+
+    // Returns the entry to serve. It is only kept if nothing it covers may have changed since
+    // seenVersion was read.
+    public Entry put(Object key, long seenVersion, Scope scope, byte[] plain) throws IOException {
+        ByteArrayOutputStream gzipped = new ByteArrayOutputStream(plain.length / 4 + 64);
+        try (GZIPOutputStream out = new GZIPOutputStream(gzipped)) {
+            out.write(plain);
+        }
+        String etag = etag(plain);
+
+        synchronized (this) {
+            Entry entry = new Entry(plain, gzipped.toByteArray(), etag, System.currentTimeMillis() + TTL_MS, scope);
+            if (seenVersion != version || entry.size() > MAX_ENTRY_BYTES) {
+                return entry;
+            }
+
+            remove(key);
+            entries.put(key, entry);
+            bytes += entry.size();
+
+            Iterator<Entry> eldest = entries.values().iterator();
+            while (bytes > MAX_BYTES && eldest.hasNext()) {
+                bytes -= eldest.next().size();
+                eldest.remove();
+            }
+            return entry;
+        }
+    }
+
+    public synchronized String stats() {
+        return entries.size() + " entries, " + bytes / 1024 + " KB, " + hits + " hits, " + misses + " misses";
+    }
+
+    @Override
+    public synchronized void onChange(String table, Set<Long> rowIds) {
+        if (!watchedTables.contains(table)) {
+            return;
+        }
+        version++;
+
+        Iterator<Entry> it = entries.values().iterator();
+        while (it.hasNext()) {
+            Entry entry = it.next();
+            if (entry.scope.isAffectedBy(table, rowIds)) {
+                bytes -= entry.size();
+                it.remove();
+            }
+        }
+    }
+
+    // Taken from the bytes themselves, so a tag a client kept from an earlier run of the server
+    // only matches if the response really is the same.
+    private static String etag(byte[] plain) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(plain);
+            return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(hash, 16)) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void remove(Object key) {
+        Entry removed = entries.remove(key);
+        if (removed != null) {
+            bytes -= removed.size();
+        }
+    }
+}
@@ -0,0 +1,234 @@
+import java.sql.*;
+import java.util.*;
+import java.util.List;
+
+// The signed-in user's profile and adoption list, kept between visits to their pages. Writes seen
+// by the ChangeTracker drop only what they touch, so moving between pages reads the database
+// again only after something of this user's has changed.
+class Session implements ChangeListener {
+    private User user;
+    private boolean profileStale;
+    // Past this many changed rows one full read is cheaper than patching.
+    private static final int MAX_PATCH = 200;
+
+    private static final Comparator<Adoption> NEWEST_FIRST = Comparator
+            .comparing(Adoption::getAdoptionDate, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(Comparator.comparingInt(Adoption::getId).reversed());
+
+    private List<Adoption> adoptions;
+    private final Map<Integer, Adoption> byId = new HashMap<>();
+    private final Set<Long> changedAdoptions = new HashSet<>();
+    private final Set<Long> changedPets = new HashSet<>();
+    private boolean hasNewer;
+    private long newestAdoptionId;
+    private long version;
+
+    public Session(User user) {
+        this.user = user;
+        DatabaseManager.addChangeListener(this);
+    }
+
+    public synchronized User getUser() {
+        return user;
+    }
+
+    public void close() {
+        DatabaseManager.removeChangeListener(this);
+    }
+
+    public User loadProfile() throws SQLException {
+        long seen;
+        int userId;
+        synchronized (this) {
+            if (!profileStale) {
+                return user;
+            }
+            seen = version;
+            userId = user.getId();
+        }
+
+        String sql = """
+                    SELECT id, username, email, full_name, phone_number, address, is_admin
+                    FROM users
+                    WHERE id = ?
+                """;
+        User loaded = null;
+        try (Connection conn = DatabaseManager.getReadConnection();
+                PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setInt(1, userId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    loaded = new User(
+                            rs.getInt("id"),
+                            rs.getString("username"),
+                            rs.getString("email"),
+                            rs.getString("full_name"),
+                            rs.getString("phone_number"),
+                            rs.getString("address"),
+                            rs.getInt("is_admin") == 1);
+                }
+            }
+        }
+
+        synchronized (this) {
+            if (loaded != null) {
+                user = loaded;
+                profileStale = seen != version;
+            }
+            return user;
+        }
+    }
+
+    // The first call loads the whole list; after that only adoptions newer than the newest one
+    // seen, or touched by a change since, are read again and merged into it. Rows that are not
+    // touched keep the same Adoption instance, so callers can tell which ones changed.
+    public List<Adoption> getAdoptions() throws SQLException {
+        User owner = loadProfile();
+        boolean full;
+        long seen;
+        long sinceId;
+        Set<Long> changedIds;
+        Set<Long> changedPetIds;
+        synchronized (this) {
+            if (adoptions != null && !hasNewer && changedAdoptions.isEmpty() && changedPets.isEmpty()) {
+                return adoptions;
+            }
+            if (adoptions != null && changedAdoptions.size() + changedPets.size() > MAX_PATCH) {
+                dropAdoptions();
+            }
+            full = adoptions == null;
+            seen = version;
+            sinceId = newestAdoptionId;
+            changedIds = new HashSet<>(changedAdoptions);
+            changedPetIds = new HashSet<>(changedPets);
+            hasNewer = false;
+            changedAdoptions.clear();
+            changedPets.clear();
+        }
+
+        List<Adoption> loaded = full
+                ? loadAdoptions(owner, 0, Set.of(), Set.of())
+                : loadAdoptions(owner, sinceId, changedIds, changedPetIds);
+
+        // Changes that arrive while loading are recorded again by onChange and read next time.
+        synchronized (this) {
+            if (seen == version) {
+                if (full) {
+                    byId.clear();
+                    newestAdoptionId = 0;
+                } else {
+                    changedIds.forEach(id -> byId.remove((int) (long) id));
+                    byId.values().removeIf(adoption -> changedPetIds.contains((long) adoption.getPet().getId()));
+                }
+                for (Adoption adoption : loaded) {
+                    byId.put(adoption.getId(), adoption);
+                    newestAdoptionId = Math.max(newestAdoptionId, adoption.getId());
+                }
+
+                List<Adoption> merged = new ArrayList<>(byId.values());
+                merged.sort(NEWEST_FIRST);
+                adoptions = Collections.unmodifiableList(merged);
+                return adoptions;
+            }
+        }
+
+        // The list was dropped while loading, e.g. for a profile change, so it is read afresh.
+        return getAdoptions();
+    }
+
+    // Ids only grow, so an adoption newer than any cached one may be a new request of this user.
+    @Override
+    public synchronized void onChange(String table, Set<Long> rowIds) {
+        switch (table) {
+            case "adoptions" -> {
+                for (long id : rowIds) {
+                    if (id > newestAdoptionId) {
+                        hasNewer = true;
+                    } else if (byId.containsKey((int) id)) {
+                        changedAdoptions.add(id);
+                    }
+                }
+            }
+            case "pets" -> {
+                for (Adoption adoption : byId.values()) {
+                    if (rowIds.contains((long) adoption.getPet().getId())) {
+                        changedPets.add((long) adoption.getPet().getId());
+                    }
+                }
+            }
+            case "users" -> {
+                if (rowIds.contains((long) user.getId())) {
+                    dropAdoptions();
+                    profileStale = true;
+                }
+            }
+            default -> {
+            }
+        }
+    }
+
+    private void dropAdoptions() {
+        version++;
+        adoptions = null;
+        hasNewer = false;
+        changedAdoptions.clear();
+        changedPets.clear();
+    }
+
+    // Reads only what an adoption card shows. With a non-empty filter only rows newer than
+    // sinceId or named in it are read.
+    private static List<Adoption> loadAdoptions(User user, long sinceId, Set<Long> adoptionIds, Set<Long> petIds)
+            throws SQLException {
+        List<Object> params = new ArrayList<>();
+        params.add(user.getId());
+
+        StringBuilder sql = new StringBuilder("""
+                    SELECT a.id, a.adoption_date, a.status, a.notes,
+                           p.id AS pet_id, p.name, p.species, p.breed, p.image_url
+                    FROM adoptions a
+                    JOIN pets p ON a.pet_id = p.id
+                    WHERE a.user_id = ?
+                """);
+        if (sinceId > 0) {
+            sql.append(" AND (a.id > ?");
+            params.add(sinceId);
+            appendIn(sql, " OR a.id IN (", adoptionIds, params);
+            appendIn(sql, " OR a.pet_id IN (", petIds, params);
+            sql.append(')');
+        }
+        sql.append(" ORDER BY a.adoption_date DESC, a.id DESC");
+
+        List<Adoption> adoptions = new ArrayList<>();
+        try (Connection conn = DatabaseManager.getReadConnection();
+                PreparedStatement pstmt = PetCatalog.prepare(conn, sql.toString(), params);
+                ResultSet rs = pstmt.executeQuery()) {
+            while (rs.next()) {
+                Pet pet = new Pet(
+                        rs.getInt("pet_id"),
+                        rs.getString("name"),
+                        rs.getString("species"),
+                        rs.getString("breed"),
+                        0, null, null, null, null,
+                        rs.getString("image_url"),
+                        null);
+
+                adoptions.add(new Adoption(
+                        rs.getInt("id"),
+                        user,
+                        pet,
+                        DatabaseManager.parseTimestamp(rs.getString("adoption_date")),
+                        rs.getString("status"),
+                        rs.getString("notes")));
+            }
+        }
+        return adoptions;
+    }
+
+    private static void appendIn(StringBuilder sql, String prefix, Set<Long> ids, List<Object> params) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        sql.append(prefix).append("?, ".repeat(ids.size() - 1)).append("?)");
+        params.addAll(ids);
+    }
+}
@@ -0,0 +1,50 @@
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+// Everything the first screen would otherwise wait for, started from main before Swing is up:
+// the SQLite native library, the migrations, and the first page of pets with its facet counts,
+// which land in PetRepository so the browse panel is served from memory. The page and the
+// counts are read in parallel once the schema is there.
+class Startup {
+    interface Step {
+        void run() throws Exception;
+    }
+
+    private Startup() {
+    }
+
+    public static CompletableFuture<Void> warmUp() {
+        AuthService.warmUp();
+
+        CompletableFuture<Void> database = CompletableFuture
+                .runAsync(() -> timed("SQLite native library", org.sqlite.SQLiteJDBCLoader::initialize))
+                .thenRun(() -> timed("Database", DatabaseManager::initialize));
+
+        CompletableFuture<Void> firstPage = database.thenRunAsync(() -> timed("First page of pets",
+                () -> PetRepository.loadAvailablePage(PetFilter.NONE, 0, PetGrid.PAGE_SIZE)));
+        CompletableFuture<Void> facets = database.thenRunAsync(() -> timed("Facet counts",
+                () -> PetRepository.loadFacetCounts(PetFilter.NONE)));
+
+        return CompletableFuture.allOf(firstPage, facets).whenComplete((ignored, e) -> {
+            if (e != null) {
+                e.printStackTrace();
+            }
+        });
+    }
+
+    // Time since the JVM started, so class loading and Swing setup are counted too.
+    public static void logInteractive() {
+        System.out.println("Interactive after " + ManagementFactory.getRuntimeMXBean().getUptime() + " ms");
+    }
+
+    private static void timed(String name, Step step) {
+        long start = System.nanoTime();
+        try {
+            step.run();
+        } catch (Exception e) {
+            throw new CompletionException(e);
+        }
+        System.out.println(name + " ready in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+    }
+}
@@ -0,0 +1,246 @@
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+enum FilterMode {
+    NONE, PREFIX, PREFIX_IGNORE_CASE, EQUALS
+}
+
+// A table column backed by a SQL expression. Sort keys always end with a unique id so every
+// row has a distinct position, which is what lets a page be found from the row before it.
+class QueryColumn {
+    private final String label;
+    private final String expr;
+    private final FilterMode filter;
+    private final boolean nullable;
+    private final String[] sortKeys;
+
+    public QueryColumn(String label, String expr, FilterMode filter, boolean nullable, String... sortKeys) {
+        this.label = label;
+        this.expr = expr;
+        this.filter = filter;
+        this.nullable = nullable;
+        this.sortKeys = sortKeys;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public String getExpr() {
+        return expr;
+    }
+
+    public FilterMode getFilter() {
+        return filter;
+    }
+
+    public boolean isNullable() {
+        return nullable;
+    }
+
+    public String[] getSortKeys() {
+        return sortKeys;
+    }
+
+    public boolean isSortable() {
+        return sortKeys.length > 0;
+    }
+}
+
+class TableSource {
+    private final QueryColumn[] columns;
+    private final String from;
+    private final String condition;
+    private final String totalSql;
+
+    // condition, when set, restricts every query; totalSql answers the count while no filter is
+    // typed without scanning, e.g. from the pet_stats counters.
+    public TableSource(String from, String condition, String totalSql, QueryColumn... columns) {
+        this.columns = columns;
+        this.from = from;
+        this.condition = condition;
+        this.totalSql = totalSql;
+    }
+
+    public QueryColumn getColumn(int index) {
+        return columns[index];
+    }
+
+    public int getColumnCount() {
+        return columns.length;
+    }
+
+    public String[] labels() {
+        return Arrays.stream(columns).map(QueryColumn::getLabel).toArray(String[]::new);
+    }
+
+    public TableQuery query(int sortColumn, boolean ascending, String[] filters) {
+        return new TableQuery(this, sortColumn, ascending, filters.clone());
+    }
+
+    String getFrom() {
+        return from;
+    }
+
+    String getCondition() {
+        return condition;
+    }
+
+    String getTotalSql() {
+        return totalSql;
+    }
+}
+
+// One sort order and set of filters over a TableSource. Rows carry the sort key values after
+// the visible columns; when the block before the requested one is at hand the page starts
+// right after its last key instead of skipping OFFSET rows.
+class TableQuery implements BlockLoader {
+    private final TableSource source;
+    private final QueryColumn sortColumn;
+    private final boolean ascending;
+    private final String[] filters;
+
+    TableQuery(TableSource source, int sortColumn, boolean ascending, String[] filters) {
+        this.source = source;
+        this.sortColumn = source.getColumn(sortColumn);
+        this.ascending = ascending;
+        this.filters = filters;
+    }
+
+    @Override
+    public int count() throws SQLException {
+        List<Object> params = new ArrayList<>();
+        String where = filterClause(params);
+        String sql = !hasFilters() && source.getTotalSql() != null
+                ? source.getTotalSql()
+                : "SELECT COUNT(*) FROM " + source.getFrom() + where;
+
+        try (Connection conn = DatabaseManager.getReadConnection();
+                PreparedStatement pstmt = PetCatalog.prepare(conn, sql, params);
+                ResultSet rs = pstmt.executeQuery()) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    @Override
+    public List<Object[]> loadBlock(int offset, int limit, Object[] previous) throws SQLException {
+        String[] keys = sortColumn.getSortKeys();
+        Object[] after = previous == null ? null
+                : Arrays.copyOfRange(previous, source.getColumnCount(), source.getColumnCount() + keys.length);
+
+        try (Connection conn = DatabaseManager.getReadConnection()) {
+            if (after == null || after[0] == null) {
+                return select(conn, "", List.of(), limit, offset);
+            }
+
+            String op = ascending ? ">" : "<";
+            StringBuilder seek = new StringBuilder();
+            if (keys.length > 1) {
+                // The lone leading term is what the planner turns into an index range.
+                seek.append(keys[0]).append(ascending ? " >= ?" : " <= ?").append(" AND ");
+            }
+            seek.append('(').append(String.join(", ", keys)).append(") ").append(op)
+                    .append(" (").append("?, ".repeat(keys.length - 1)).append("?)");
+
+            List<Object> seekParams = new ArrayList<>();
+            if (keys.length > 1) {
+                seekParams.add(after[0]);
+            }
+            seekParams.addAll(Arrays.asList(after));
+
+            List<Object[]> rows = select(conn, seek.toString(), seekParams, limit, 0);
+
+            // NULL sorts lowest, so a descending order ends with the rows the seek cannot reach.
+            if (rows.size() < limit && !ascending && sortColumn.isNullable()) {
+                rows.addAll(select(conn, keys[0] + " IS NULL", List.of(), limit - rows.size(), 0));
+            }
+            return rows;
+        }
+    }
+
+    private List<Object[]> select(Connection conn, String condition, List<Object> conditionParams, int limit,
+            int offset) throws SQLException {
+        String[] keys = sortColumn.getSortKeys();
+        String direction = ascending ? " ASC" : " DESC";
+
+        StringBuilder sql = new StringBuilder("SELECT ");
+        for (int i = 0; i < source.getColumnCount(); i++) {
+            sql.append(source.getColumn(i).getExpr()).append(", ");
+        }
+        sql.append(String.join(", ", keys)).append(" FROM ").append(source.getFrom());
+
+        List<Object> params = new ArrayList<>();
+        String where = filterClause(params);
+        if (!condition.isEmpty()) {
+            sql.append(where.isEmpty() ? " WHERE " : where + " AND ").append(condition);
+            params.addAll(conditionParams);
+        } else {
+            sql.append(where);
+        }
+
+        sql.append(" ORDER BY ").append(String.join(direction + ", ", keys)).append(direction);
+        sql.append(" LIMIT ? OFFSET ?");
+        params.add(limit);
+        params.add(offset);
+
+        int width = source.getColumnCount() + keys.length;
+        List<Object[]> rows = new ArrayList<>(limit);
+        try (PreparedStatement pstmt = PetCatalog.prepare(conn, sql.toString(), params);
+                ResultSet rs = pstmt.executeQuery()) {
+            while (rs.next()) {
+                Object[] row = new Object[width];
+                for (int i = 0; i < width; i++) {
+                    row[i] = rs.getObject(i + 1);
+                }
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+
+    private boolean hasFilters() {
+        return Arrays.stream(filters).anyMatch(value -> value != null && !value.isBlank());
+    }
+
+    // Prefixes become ranges rather than LIKE patterns so they can use the column's index.
+    private String filterClause(List<Object> params) {
+        List<String> terms = new ArrayList<>();
+        if (source.getCondition() != null) {
+            terms.add(source.getCondition());
+        }
+        for (int i = 0; i < filters.length; i++) {
+            String value = filters[i] == null ? "" : filters[i].trim();
+            QueryColumn column = source.getColumn(i);
+            if (value.isEmpty()) {
+                continue;
+            }
+
+            switch (column.getFilter()) {
+                case PREFIX -> addPrefix(terms, params, column.getExpr(), value);
+                case PREFIX_IGNORE_CASE ->
+                    addPrefix(terms, params, column.getExpr() + " COLLATE NOCASE", value.toLowerCase(Locale.ROOT));
+                case EQUALS -> {
+                    terms.add(column.getExpr() + " = ?");
+                    params.add(value.toUpperCase(Locale.ROOT));
+                }
+                case NONE -> {
+                }
+            }
+        }
+        return terms.isEmpty() ? "" : " WHERE " + String.join(" AND ", terms);
+    }
+
+    private static void addPrefix(List<String> terms, List<Object> params, String expr, String prefix) {
+        terms.add(expr + " >= ?");
+        params.add(prefix);
+
+        char last = prefix.charAt(prefix.length() - 1);
+        if (last != Character.MAX_VALUE) {
+            terms.add(expr + " < ?");
+            params.add(prefix.substring(0, prefix.length() - 1) + (char) (last + 1));
+        }
+    }
+}
@@ -0,0 +1,339 @@
+import java.sql.*;
+import java.util.*;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+// Headless load for `PetAdoptionSystem --load`: simulated adopters browse, search, open pets, sign
+// in, check their adoptions and adopt, while simulated admins add pets and work through the
+// approval queue. Everything goes through the same services and caches the desktop client uses,
+// against whatever database db.path points at, so run it on a copy.
+//
+// With load.thinkMs set, each user starts an operation every thinkMs and latency is measured from
+// when it was due, not when it got going; a stall then shows up in every operation stuck behind
+// it instead of hiding as one slow sample (coordinated omission). Without it, users run flat out.
+class WorkloadDriver {
+    static final int ADOPTERS = Integer.getInteger("load.adopters", 16);
+    static final int ADMINS = Integer.getInteger("load.admins", 2);
+    static final int WARMUP_SECONDS = Integer.getInteger("load.warmup", 5);
+    static final int SECONDS = Integer.getInteger("load.seconds", 30);
+    static final long THINK_MS = Long.getLong("load.thinkMs", 0L);
+    static final long SEED = Long.getLong("load.seed", 42L);
+
+    private static final String USER_PREFIX = "load-adopter-";
+    private static final String PASSWORD = "load-password";
+    private static final int PAGE_SIZE = PetGrid.PAGE_SIZE;
+    private static final int REVIEW_BATCH = 5;
+
+    enum Op {
+        BROWSE(40), SEARCH(20), VIEW_PET(12), MY_ADOPTIONS(10), LOGIN(5), ADOPT(13),
+        REVIEW(70), ADD_PET(30);
+
+        final int weight;
+        final LatencyHistogram histogram = new LatencyHistogram();
+        final AtomicLong errors = new AtomicLong();
+        final AtomicLong busy = new AtomicLong();
+
+        Op(int weight) {
+            this.weight = weight;
+        }
+    }
+
+    private static final Op[] ADOPTER_OPS = { Op.BROWSE, Op.SEARCH, Op.VIEW_PET, Op.MY_ADOPTIONS, Op.LOGIN, Op.ADOPT };
+    private static final Op[] ADMIN_OPS = { Op.REVIEW, Op.ADD_PET };
+    private static final String[] SPECIES = { "Dog", "Cat", "Bird" };
+
+    private static volatile long measureFrom;
+    private static volatile long stopAt;
+    private static long busyRetries;
+    private static List<String> searchTerms;
+    private static int maxPetId;
+
+    private WorkloadDriver() {
+    }
+
+    public static void main() {
+        try {
+            Startup.warmUp().join();
+            run(prepare());
+            report();
+        } catch (Exception e) {
+            e.printStackTrace();
+            System.exit(1);
+        }
+        System.exit(0);
+    }
+
+    // Accounts are created once and reused by later runs; so are the pets and adoptions a run adds.
+    private static List<User> prepare() throws Exception {
+        Set<String> existing = new HashSet<>();
+        Set<String> terms = new LinkedHashSet<>();
+        try (Connection conn = DatabaseManager.getReadConnection();
+                Statement stmt = conn.createStatement()) {
+            try (ResultSet rs = stmt.executeQuery(
+                    "SELECT username FROM users WHERE username LIKE '" + USER_PREFIX + "%'")) {
+                while (rs.next()) {
+                    existing.add(rs.getString(1));
+                }
+            }
+            try (ResultSet rs = stmt.executeQuery("SELECT COALESCE(MAX(id), 0) FROM pets")) {
+                maxPetId = rs.next() ? rs.getInt(1) : 0;
+            }
+            try (ResultSet rs = stmt.executeQuery("SELECT DISTINCT breed FROM pets WHERE breed IS NOT NULL LIMIT 50")) {
+                while (rs.next()) {
+                    terms.add(rs.getString(1));
+                }
+            }
+        }
+        terms.addAll(List.of(SPECIES));
+        searchTerms = List.copyOf(terms);
+
+        // One at a time, as the auth pool turns work away once its queue is full.
+        int registered = 0;
+        for (int i = 0; i < ADOPTERS; i++) {
+            String username = USER_PREFIX + i;
+            if (!existing.contains(username)) {
+                AuthService.register(username, PASSWORD.toCharArray(), username + "@example.com",
+                        "Load Adopter " + i, "555-0100", "1 Test Street").join();
+                registered++;
+            }
+        }
+
+        List<User> adopters = new ArrayList<>();
+        for (int i = 0; i < ADOPTERS; i++) {
+            User user = AuthService.login(USER_PREFIX + i, PASSWORD.toCharArray()).join();
+            if (user == null) {
+                throw new IllegalStateException("Could not sign in as " + USER_PREFIX + i);
+            }
+            adopters.add(user);
+        }
+        System.out.println("Prepared " + ADOPTERS + " adopters (" + registered + " new), " + ADMINS
+                + " admins, " + maxPetId + " pets");
+        return adopters;
+    }
+
+    private static void run(List<User> adopters) throws InterruptedException {
+        measureFrom = System.nanoTime() + TimeUnit.SECONDS.toNanos(WARMUP_SECONDS);
+        stopAt = measureFrom + TimeUnit.SECONDS.toNanos(SECONDS);
+
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < adopters.size(); i++) {
+            threads.add(new Thread(new Adopter(adopters.get(i), new Random(SEED + i)), USER_PREFIX + i));
+        }
+        for (int i = 0; i < ADMINS; i++) {
+            threads.add(new Thread(new Admin(new Random(SEED - 1 - i)), "load-admin-" + i));
+        }
+
+        System.out.println("Warming up for " + WARMUP_SECONDS + " s, then measuring for " + SECONDS + " s");
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        Thread.sleep(Math.max(0, TimeUnit.NANOSECONDS.toMillis(measureFrom - System.nanoTime())));
+        long retriesBefore = WriteQueue.busyRetries();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        busyRetries = WriteQueue.busyRetries() - retriesBefore;
+    }
+
+    private static void report() {
+        System.out.println();
+        System.out.printf("%-13s %9s %9s %9s %9s %9s %9s %7s %6s%n",
+                "operation", "count", "ops/s", "p50 ms", "p99 ms", "p999 ms", "max ms", "errors", "busy");
+        LatencyHistogram all = new LatencyHistogram();
+        long errors = 0;
+        long busy = 0;
+        for (Op op : Op.values()) {
+            print(op.name().toLowerCase(Locale.ROOT), op.histogram, op.errors.get(), op.busy.get());
+            all.add(op.histogram);
+            errors += op.errors.get();
+            busy += op.busy.get();
+        }
+        print("all", all, errors, busy);
+        System.out.println();
+        System.out.println("SQLITE_BUSY: " + busy + " reached callers, " + busyRetries
+                + " write batches retried by the WriteQueue");
+    }
+
+    private static void print(String name, LatencyHistogram histogram, long errors, long busy) {
+        System.out.printf("%-13s %9d %9.1f %9.2f %9.2f %9.2f %9.2f %7d %6d%n", name, histogram.count(),
+                histogram.count() / (double) SECONDS, histogram.percentile(50) / 1000.0,
+                histogram.percentile(99) / 1000.0, histogram.percentile(99.9) / 1000.0,
+                histogram.max() / 1000.0, errors, busy);
+    }
+
+    // Failures come back wrapped by CompletableFuture, so the whole cause chain is checked.
+    private static boolean isBusy(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException && DatabaseManager.isBusy(sqlException)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Runs operations until the run is over, recording those that fall due while measuring.
+    private abstract static class VirtualUser implements Runnable {
+        final Random random;
+        private final Op[] ops;
+        private final int totalWeight;
+
+        VirtualUser(Random random, Op[] ops) {
+            this.random = random;
+            this.ops = ops;
+            this.totalWeight = Arrays.stream(ops).mapToInt(op -> op.weight).sum();
+        }
+
+        abstract void perform(Op op) throws Exception;
+
+        @Override
+        public void run() {
+            long due = System.nanoTime();
+            while (due < stopAt) {
+                Op op = pick();
+                boolean failed = false;
+                try {
+                    perform(op);
+                } catch (Exception e) {
+                    // Busy writes and sign-ins turned away by the auth pool are what overload
+                    // looks like, so they are only counted; anything else is a bug worth seeing.
+                    failed = true;
+                    if (isBusy(e)) {
+                        if (due >= measureFrom) {
+                            op.busy.incrementAndGet();
+                        }
+                    } else if (!(e.getCause() instanceof RejectedExecutionException)) {
+                        e.printStackTrace();
+                    }
+                }
+
+                long now = System.nanoTime();
+                if (due >= measureFrom && due < stopAt) {
+                    op.histogram.record(TimeUnit.NANOSECONDS.toMicros(now - due));
+                    if (failed) {
+                        op.errors.incrementAndGet();
+                    }
+                }
+
+                due = THINK_MS > 0 ? due + TimeUnit.MILLISECONDS.toNanos(THINK_MS) : now;
+                if (due > now) {
+                    LockSupport.parkNanos(due - now);
+                }
+            }
+        }
+
+        private Op pick() {
+            int roll = random.nextInt(totalWeight);
+            for (Op op : ops) {
+                roll -= op.weight;
+                if (roll < 0) {
+                    return op;
+                }
+            }
+            return ops[ops.length - 1];
+        }
+    }
+
+    private static class Adopter extends VirtualUser {
+        private final User user;
+        private final Session session;
+        private List<Pet> lastPage = List.of();
+
+        Adopter(User user, Random random) {
+            super(random, ADOPTER_OPS);
+            this.user = user;
+            this.session = new Session(user);
+        }
+
+        @Override
+        void perform(Op op) throws Exception {
+            switch (op) {
+                case BROWSE -> browse();
+                case SEARCH -> PetRepository.search(new PetFilter(pickTerm(), Map.of()), 0, PAGE_SIZE);
+                case VIEW_PET -> PetRepository.get(1 + random.nextInt(Math.max(1, maxPetId)));
+                case MY_ADOPTIONS -> session.getAdoptions();
+                case LOGIN -> {
+                    if (AuthService.login(user.getUsername(), PASSWORD.toCharArray()).join() == null) {
+                        throw new IllegalStateException("Sign-in refused for " + user.getUsername());
+                    }
+                }
+                case ADOPT -> {
+                    if (lastPage.isEmpty()) {
+                        browse();
+                    }
+                    if (!lastPage.isEmpty()) {
+                        Pet pet = lastPage.get(random.nextInt(lastPage.size()));
+                        AdoptionService.adopt(user.getId(), pet.getId(), "Load test").join();
+                    }
+                }
+                default -> throw new IllegalArgumentException(op.name());
+            }
+        }
+
+        // Most visits start at the first page of everything; the rest filter by species or jump
+        // further into the catalog.
+        private void browse() throws SQLException {
+            PetFilter filter = PetFilter.NONE;
+            if (random.nextInt(3) == 0) {
+                Map<PetFilter.Facet, Set<String>> selected = new EnumMap<>(PetFilter.Facet.class);
+                selected.put(PetFilter.Facet.SPECIES, Set.of(SPECIES[random.nextInt(SPECIES.length)]));
+                filter = new PetFilter("", selected);
+            }
+            int after = random.nextInt(5) == 0 ? random.nextInt(Math.max(1, maxPetId)) : 0;
+            lastPage = PetRepository.loadAvailablePage(filter, after, PAGE_SIZE);
+        }
+
+        private String pickTerm() {
+            return searchTerms.get(random.nextInt(searchTerms.size()));
+        }
+    }
+
+    private static class Admin extends VirtualUser {
+        Admin(Random random) {
+            super(random, ADMIN_OPS);
+        }
+
+        @Override
+        void perform(Op op) throws Exception {
+            switch (op) {
+                case REVIEW -> review();
+                case ADD_PET -> WriteQueue.submit(this::insertPet).join();
+                default -> throw new IllegalArgumentException(op.name());
+            }
+        }
+
+        // Oldest requests first, as the approvals tab shows them; most are approved.
+        private void review() throws SQLException {
+            List<Integer> ids = new ArrayList<>();
+            try (Connection conn = DatabaseManager.getReadConnection();
+                    PreparedStatement pstmt = conn.prepareStatement(
+                            "SELECT id FROM adoptions WHERE status = 'PENDING' ORDER BY id LIMIT ?")) {
+                pstmt.setInt(1, REVIEW_BATCH);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        ids.add(rs.getInt(1));
+                    }
+                }
+            }
+            if (!ids.isEmpty()) {
+                AdoptionService.decide(ids, random.nextInt(4) != 0).join();
+            }
+        }
+
+        private int insertPet(Connection conn) throws SQLException {
+            String sql = "INSERT INTO pets (name, species, breed, age, gender, size, color, description) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setString(1, "Load pet " + random.nextInt(1_000_000));
+                pstmt.setString(2, SPECIES[random.nextInt(SPECIES.length)]);
+                pstmt.setString(3, "Mixed");
+                pstmt.setInt(4, random.nextInt(15));
+                pstmt.setString(5, random.nextBoolean() ? "Male" : "Female");
+                pstmt.setString(6, "Medium");
+                pstmt.setString(7, "N/A");
+                pstmt.setString(8, "Added by the workload driver");
+                return pstmt.executeUpdate();
+            }
+        }
+    }
+}
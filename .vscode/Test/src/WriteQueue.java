@@ -0,0 +1,160 @@
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Commands run inside the queue's transaction and must not commit, roll back or change auto-commit.
+interface WriteCommand<T> {
+    T apply(Connection conn) throws SQLException;
+}
+
+class WriteQueue {
+    private static final int MAX_BATCH = 256;
+    private static final long BATCH_WINDOW_NANOS = TimeUnit.MILLISECONDS.toNanos(2);
+    private static final int MAX_ATTEMPTS = 5;
+    private static final long INITIAL_BACKOFF_MS = 50;
+    private static final long FLUSH_TIMEOUT_MS = 5000;
+
+    private static final BlockingQueue<Pending<?>> queue = new LinkedBlockingQueue<>();
+    private static final AtomicLong busyRetries = new AtomicLong();
+
+    static {
+        Thread writer = new Thread(WriteQueue::run, "db-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    private WriteQueue() {
+    }
+
+    public static <T> CompletableFuture<T> submit(WriteCommand<T> command) {
+        Pending<T> pending = new Pending<>(command);
+        queue.add(pending);
+        return pending.future;
+    }
+
+    // Batches that hit SQLITE_BUSY and were tried again; callers only see the ones that ran out of attempts.
+    public static long busyRetries() {
+        return busyRetries.get();
+    }
+
+    // Commands are applied in order, so once an empty command completes everything queued before it has committed.
+    public static void flush() {
+        try {
+            submit(conn -> null).get(FLUSH_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private static void run() {
+        List<Pending<?>> batch = new ArrayList<>();
+        while (true) {
+            try {
+                batch.add(queue.take());
+                long deadline = System.nanoTime() + BATCH_WINDOW_NANOS;
+                while (batch.size() < MAX_BATCH) {
+                    Pending<?> next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                if (batch.isEmpty()) {
+                    continue;
+                }
+            }
+
+            commitWithRetry(batch);
+            batch.clear();
+        }
+    }
+
+    private static void commitWithRetry(List<Pending<?>> batch) {
+        long backoff = INITIAL_BACKOFF_MS;
+        for (int attempt = 1;; attempt++) {
+            try {
+                commit(batch);
+                batch.forEach(Pending::complete);
+                return;
+            } catch (SQLException e) {
+                if (!DatabaseManager.isBusy(e) || attempt == MAX_ATTEMPTS) {
+                    batch.forEach(pending -> pending.future.completeExceptionally(e));
+                    return;
+                }
+                busyRetries.incrementAndGet();
+            }
+
+            try {
+                Thread.sleep(backoff + ThreadLocalRandom.current().nextLong(backoff));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            backoff *= 2;
+        }
+    }
+
+    // Each command gets its own savepoint so a failing one is undone and reported to its caller
+    // without taking the rest of the batch down with it. The connection is closed before any
+    // future completes, so change listeners have already run when callers see their result.
+    private static void commit(List<Pending<?>> batch) throws SQLException {
+        try (Connection conn = DatabaseManager.getConnection();
+                Statement stmt = conn.createStatement()) {
+            conn.setAutoCommit(false);
+            try {
+                for (Pending<?> pending : batch) {
+                    stmt.execute("SAVEPOINT command");
+                    try {
+                        pending.run(conn);
+                        stmt.execute("RELEASE command");
+                    } catch (Exception e) {
+                        stmt.execute("ROLLBACK TO command");
+                        stmt.execute("RELEASE command");
+                        if (e instanceof SQLException sqlException && DatabaseManager.isBusy(sqlException)) {
+                            throw sqlException;
+                        }
+                        pending.fail(e);
+                    }
+                }
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+    }
+
+    private static class Pending<T> {
+        private final WriteCommand<T> command;
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+        private T result;
+        private Exception error;
+
+        Pending(WriteCommand<T> command) {
+            this.command = command;
+        }
+
+        void run(Connection conn) throws SQLException {
+            error = null;
+            result = command.apply(conn);
+        }
+
+        void fail(Exception e) {
+            error = e;
+        }
+
+        void complete() {
+            if (error != null) {
+                future.completeExceptionally(error);
+            } else {
+                future.complete(result);
+            }
+        }
+    }
+}
@@ -0,0 +1,34 @@
+// Plain checks with no test framework, as the project has no dependencies to pull one from:
+//   javac -cp src -d /tmp/pwtest src/*.java test/PasswordHasherTest.java && java -cp /tmp/pwtest:src PasswordHasherTest
+// Damaged rows in the password column must fail the sign-in, not throw out of AuthService.login.
+class PasswordHasherTest {
+    private static final char[] PASSWORD = "correct horse".toCharArray();
+    private static final String[] MALFORMED = {
+            "pbkdf2-sha256$many$c2FsdA$aGFzaA",
+            "pbkdf2-sha256$1000$not base64!$aGFzaA",
+            "pbkdf2-sha256$1000$c2FsdA$not base64!",
+            "pbkdf2-sha256$0$c2FsdA$aGFzaA",
+            "pbkdf2-sha256$1000$$aGFzaA",
+            "pbkdf2-sha256$1000$c2FsdA",
+            "pbkdf2-sha256$",
+    };
+
+    public static void main(String[] args) {
+        String valid = PasswordHasher.hash(PASSWORD, 1000);
+        check(PasswordHasher.verify(PASSWORD, valid), "a well-formed hash verifies");
+        check(!PasswordHasher.verify("wrong".toCharArray(), valid), "a wrong password is rejected");
+        check(PasswordHasher.needsRehash(valid), "a hash below the configured cost needs a rehash");
+
+        for (String stored : MALFORMED) {
+            check(!PasswordHasher.verify(PASSWORD, stored), "malformed hash is rejected: " + stored);
+            check(PasswordHasher.needsRehash(stored), "malformed hash needs a rehash: " + stored);
+        }
+        System.out.println("PasswordHasherTest passed");
+    }
+
+    private static void check(boolean condition, String what) {
+        if (!condition) {
+            throw new AssertionError(what);
+        }
+    }
+}